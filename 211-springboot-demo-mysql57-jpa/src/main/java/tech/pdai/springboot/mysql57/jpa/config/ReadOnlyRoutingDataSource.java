@@ -0,0 +1,31 @@
+package tech.pdai.springboot.mysql57.jpa.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * routes read-only transactions to replica, others to primary.
+ *
+ * @author pdai
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * lookup key of primary data source.
+     */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * lookup key of replica data source.
+     */
+    public static final String REPLICA = "replica";
+
+    /**
+     * @return lookup key
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+
+}
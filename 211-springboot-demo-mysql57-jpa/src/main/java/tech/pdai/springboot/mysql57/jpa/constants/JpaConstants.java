@@ -0,0 +1,60 @@
+package tech.pdai.springboot.mysql57.jpa.constants;
+
+/**
+ * @author pdai
+ */
+public final class JpaConstants {
+
+    /**
+     * id generator.
+     */
+    public static final String ID_GENERATOR = "idGenerator";
+
+    /**
+     * table backed id generator class, ids are known before insert so jdbc batching stays on.
+     */
+    public static final String ID_GENERATOR_CONFIG = "org.hibernate.id.enhanced.TableGenerator";
+
+    /**
+     * id generator table.
+     */
+    public static final String ID_GENERATOR_TABLE = "tb_id_generator";
+
+    /**
+     * id generator optimizer, allocates a block of ids per table hit.
+     */
+    public static final String ID_GENERATOR_OPTIMIZER = "pooled-lo";
+
+    /**
+     * id block size.
+     */
+    public static final String ID_GENERATOR_INCREMENT = "100";
+
+    /**
+     * default jdbc batch size if hibernate.jdbc.batch_size is not set.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * fetch size of streaming query, read by base dao from jpa properties. Mysql driver streams rows one by one
+     * only with Integer.MIN_VALUE (or any size with useCursorFetch), other drivers reject a negative size.
+     */
+    public static final String STREAM_FETCH_SIZE_PROPERTY = "hibernate.jdbc.stream_fetch_size";
+
+    /**
+     * default fetch size of streaming query if hibernate.jdbc.stream_fetch_size is not set.
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * max size of a keyset slice.
+     */
+    public static final int MAX_SLICE_SIZE = 1000;
+
+    /**
+     * no instance.
+     */
+    private JpaConstants() {
+    }
+
+}
@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql57.jpa.constants;
+
+/**
+ * search mode of text columns.
+ *
+ * @author pdai
+ */
+public enum SearchMode {
+
+    /**
+     * like '%term%', always full table scan.
+     */
+    CONTAINS,
+
+    /**
+     * like 'term%', uses btree index of column.
+     */
+    PREFIX,
+
+    /**
+     * match(column) against(term in boolean mode), uses fulltext index of column.
+     */
+    FULLTEXT
+
+}
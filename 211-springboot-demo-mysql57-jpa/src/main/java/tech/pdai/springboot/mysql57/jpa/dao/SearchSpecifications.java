@@ -0,0 +1,57 @@
+package tech.pdai.springboot.mysql57.jpa.dao;
+
+import org.springframework.data.jpa.domain.Specification;
+import tech.pdai.springboot.mysql57.jpa.config.MySQLFullTextDialect;
+import tech.pdai.springboot.mysql57.jpa.constants.SearchMode;
+
+/**
+ * text search specifications.
+ *
+ * @author pdai
+ */
+public final class SearchSpecifications {
+
+    /**
+     * escape char of like pattern.
+     */
+    private static final char ESCAPE_CHAR = '\\';
+
+    /**
+     * no instance.
+     */
+    private SearchSpecifications() {
+    }
+
+    /**
+     * search attribute by mode.
+     *
+     * @param mode      search mode
+     * @param attribute attribute name
+     * @param term      search term
+     * @param <T>       entity type
+     * @return specification
+     */
+    public static <T> Specification<T> search(SearchMode mode, String attribute, String term) {
+        switch (mode) {
+            case PREFIX:
+                return (root, query, cb) -> cb.like(root.get(attribute), escape(term) + "%", ESCAPE_CHAR);
+            case FULLTEXT:
+                return (root, query, cb) -> cb.greaterThan(cb.function(MySQLFullTextDialect.MATCH_FUNCTION,
+                        Double.class, root.get(attribute), cb.literal(term)), 0d);
+            case CONTAINS:
+            default:
+                return (root, query, cb) -> cb.like(root.get(attribute), "%" + escape(term) + "%", ESCAPE_CHAR);
+        }
+    }
+
+    /**
+     * escape wildcards of like pattern.
+     *
+     * @param term term
+     * @return escaped term
+     */
+    private static String escape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
@@ -2,16 +2,22 @@ package tech.pdai.springboot.mysql57.jpa.entity;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import tech.pdai.springboot.mysql57.jpa.constants.JpaConstants;
 
 /**
  * @author pdai
@@ -21,14 +27,21 @@ import lombok.ToString;
 @ToString
 @Entity
 @Table(name = "tb_role")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Role implements BaseEntity {
 
     /**
      * role id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
+    @GeneratedValue(generator = JpaConstants.ID_GENERATOR)
+    @GenericGenerator(name = JpaConstants.ID_GENERATOR, strategy = JpaConstants.ID_GENERATOR_CONFIG, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = JpaConstants.ID_GENERATOR_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "tb_role"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = JpaConstants.ID_GENERATOR_OPTIMIZER),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = JpaConstants.ID_GENERATOR_INCREMENT)})
     private Long id;
 
     /**
@@ -8,16 +8,24 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import tech.pdai.springboot.mysql57.jpa.constants.JpaConstants;
 
 /**
  * @author pdai
@@ -27,14 +35,25 @@ import lombok.ToString;
 @ToString
 @Entity
 @Table(name = "tb_user")
+@NamedEntityGraph(name = User.GRAPH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User implements BaseEntity {
 
+    /**
+     * entity graph which loads user with roles, used by detail view.
+     */
+    public static final String GRAPH_ROLES = "User.roles";
+
     /**
      * user id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
+    @GeneratedValue(generator = JpaConstants.ID_GENERATOR)
+    @GenericGenerator(name = JpaConstants.ID_GENERATOR, strategy = JpaConstants.ID_GENERATOR_CONFIG, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = JpaConstants.ID_GENERATOR_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "tb_user"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = JpaConstants.ID_GENERATOR_OPTIMIZER),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = JpaConstants.ID_GENERATOR_INCREMENT)})
     private Long id;
 
     /**
@@ -63,8 +82,9 @@ public class User implements BaseEntity {
     private String description;
 
     /**
-     * create date time.
+     * create date time, kept as is on update.
      */
+    @Column(updatable = false)
     private LocalDateTime createTime;
 
     /**
@@ -73,9 +93,12 @@ public class User implements BaseEntity {
     private LocalDateTime updateTime;
 
     /**
-     * join to role table.
+     * join to role table, lazy by default and loaded in batches when a fetch plan asks for it.
      */
-    @ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @BatchSize(size = 500)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
     @JoinTable(name = "tb_user_role", joinColumns = {
             @JoinColumn(name = "user_id")}, inverseJoinColumns = {@JoinColumn(name = "role_id")})
     private Set<Role> roles;
@@ -0,0 +1,47 @@
+package tech.pdai.springboot.mysql57.jpa.entity.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * user projection for list view, without password and roles.
+ *
+ * @author pdai
+ */
+public interface UserListView {
+
+    /**
+     * @return user id
+     */
+    Long getId();
+
+    /**
+     * @return username
+     */
+    String getUserName();
+
+    /**
+     * @return email
+     */
+    String getEmail();
+
+    /**
+     * @return phoneNumber
+     */
+    long getPhoneNumber();
+
+    /**
+     * @return description
+     */
+    String getDescription();
+
+    /**
+     * @return create date time
+     */
+    LocalDateTime getCreateTime();
+
+    /**
+     * @return update date time
+     */
+    LocalDateTime getUpdateTime();
+
+}
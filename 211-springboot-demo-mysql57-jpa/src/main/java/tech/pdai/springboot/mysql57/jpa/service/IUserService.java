@@ -1,7 +1,11 @@
 package tech.pdai.springboot.mysql57.jpa.service;
 
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import tech.pdai.springboot.mysql57.jpa.entity.query.UserQueryBean;
 import tech.pdai.springboot.mysql57.jpa.entity.User;
 
@@ -19,4 +23,76 @@ public interface IUserService extends IBaseService<User, Long> {
      */
     Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest);
 
+    /**
+     * find by page with fetch plan.
+     *
+     * @param userQueryBean query
+     * @param pageRequest   pageRequest
+     * @param entityGraph   entity graph name, e.g. {@link User#GRAPH_ROLES}
+     * @return page
+     */
+    Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest, String entityGraph);
+
+    /**
+     * find by page, select only columns of projection.
+     *
+     * @param userQueryBean query
+     * @param pageRequest   pageRequest
+     * @param projection    projection interface, e.g. UserListView
+     * @param <P>           projection type
+     * @return page
+     */
+    <P> Page<P> findPage(UserQueryBean userQueryBean, PageRequest pageRequest, Class<P> projection);
+
+    /**
+     * find by keyset, seek after last id.
+     *
+     * @param userQueryBean query
+     * @param lastId        last id of previous slice, null means first slice
+     * @param size          size
+     * @return slice
+     */
+    Slice<User> findAfter(UserQueryBean userQueryBean, Long lastId, int size);
+
+    /**
+     * find projection by keyset, seek after last id.
+     *
+     * @param userQueryBean query
+     * @param lastId        last id of previous slice, null means first slice
+     * @param size          size
+     * @param projection    projection interface, e.g. {@link tech.pdai.springboot.mysql57.jpa.entity.view.UserListView}
+     * @param <P>           projection type
+     * @return slice
+     */
+    <P> Slice<P> findAfter(UserQueryBean userQueryBean, Long lastId, int size, Class<P> projection);
+
+    /**
+     * stream by query, must be called in a transaction and closed by caller.
+     *
+     * @param userQueryBean query
+     * @return stream
+     */
+    Stream<User> stream(UserQueryBean userQueryBean);
+
+    /**
+     * stream projection by query, must be called in a transaction and closed by caller.
+     *
+     * @param userQueryBean query
+     * @param projection    projection interface, e.g. UserListView
+     * @param <P>           projection type
+     * @return stream
+     */
+    <P> Stream<P> stream(UserQueryBean userQueryBean, Class<P> projection);
+
+    /**
+     * stream projection by query in one read-only transaction, the stream is closed on return.
+     *
+     * @param userQueryBean query
+     * @param projection    projection interface, e.g. UserListView
+     * @param action        action of each row
+     * @param <P>           projection type
+     * @return rows
+     */
+    <P> long forEach(UserQueryBean userQueryBean, Class<P> projection, Consumer<? super P> action);
+
 }
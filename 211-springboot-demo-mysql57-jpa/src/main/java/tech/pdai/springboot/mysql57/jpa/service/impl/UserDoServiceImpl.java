@@ -1,14 +1,23 @@
 package tech.pdai.springboot.mysql57.jpa.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.github.wenhao.jpa.Specifications;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.pdai.springboot.mysql57.jpa.constants.SearchMode;
 import tech.pdai.springboot.mysql57.jpa.dao.IBaseDao;
 import tech.pdai.springboot.mysql57.jpa.dao.IUserDao;
+import tech.pdai.springboot.mysql57.jpa.dao.SearchSpecifications;
 import tech.pdai.springboot.mysql57.jpa.entity.User;
 import tech.pdai.springboot.mysql57.jpa.entity.query.UserQueryBean;
 import tech.pdai.springboot.mysql57.jpa.service.IUserService;
@@ -21,13 +30,21 @@ public class UserDoServiceImpl extends BaseDoServiceImpl<User, Long> implements
      */
     private final IUserDao userDao;
 
+    /**
+     * search mode of user name and description.
+     */
+    private final SearchMode searchMode;
+
     /**
      * init.
      *
-     * @param userDao2 user dao
+     * @param userDao2    user dao
+     * @param searchMode2 search mode
      */
-    public UserDoServiceImpl(final IUserDao userDao2) {
+    public UserDoServiceImpl(final IUserDao userDao2,
+                             @Value("${user.search.mode:CONTAINS}") final SearchMode searchMode2) {
         this.userDao = userDao2;
+        this.searchMode = searchMode2;
     }
 
     /**
@@ -46,13 +63,153 @@ public class UserDoServiceImpl extends BaseDoServiceImpl<User, Long> implements
      * @return page
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest) {
-        Specification<User> specification = Specifications.<User>and()
-                .like(StringUtils.isNotEmpty(queryBean.getName()), "user_name", queryBean.getName())
-                .like(StringUtils.isNotEmpty(queryBean.getDescription()), "description",
-                        queryBean.getDescription())
+        return findPage(queryBean, pageRequest, (String) null);
+    }
+
+    /**
+     * find by page with fetch plan.
+     *
+     * @param queryBean   query
+     * @param pageRequest pageRequest
+     * @param entityGraph entity graph name
+     * @return page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest, String entityGraph) {
+        return this.getBaseDao().findAll(buildSpecification(queryBean), pageRequest, entityGraph);
+    }
+
+    /**
+     * find by page, select only columns of projection.
+     *
+     * @param queryBean   query
+     * @param pageRequest pageRequest
+     * @param projection  projection interface
+     * @param <P>         projection type
+     * @return page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> Page<P> findPage(UserQueryBean queryBean, PageRequest pageRequest, Class<P> projection) {
+        return this.getBaseDao().findAllProjectedBy(projection, buildSpecification(queryBean), pageRequest);
+    }
+
+    /**
+     * find by keyset, seek after last id.
+     *
+     * @param queryBean query
+     * @param lastId    last id of previous slice
+     * @param size      size
+     * @return slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<User> findAfter(UserQueryBean queryBean, Long lastId, int size) {
+        return findAfter(lastId, size, buildSpecification(queryBean));
+    }
+
+    /**
+     * find projection by keyset, seek after last id.
+     *
+     * @param queryBean  query
+     * @param lastId     last id of previous slice
+     * @param size       size
+     * @param projection projection interface
+     * @param <P>        projection type
+     * @return slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> Slice<P> findAfter(UserQueryBean queryBean, Long lastId, int size, Class<P> projection) {
+        return findAfterProjectedBy(projection, lastId, size, buildSpecification(queryBean));
+    }
+
+    /**
+     * stream by query.
+     *
+     * @param queryBean query
+     * @return stream
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<User> stream(UserQueryBean queryBean) {
+        return this.getBaseDao().streamAll(buildSpecification(queryBean));
+    }
+
+    /**
+     * stream projection by query.
+     *
+     * @param queryBean  query
+     * @param projection projection interface
+     * @param <P>        projection type
+     * @return stream
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> Stream<P> stream(UserQueryBean queryBean, Class<P> projection) {
+        return this.getBaseDao().streamAllProjectedBy(projection, buildSpecification(queryBean));
+    }
+
+    /**
+     * stream projection by query in one read-only transaction.
+     *
+     * @param queryBean  query
+     * @param projection projection interface
+     * @param action     action of each row
+     * @param <P>        projection type
+     * @return rows
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> long forEach(UserQueryBean queryBean, Class<P> projection, Consumer<? super P> action) {
+        long count = 0;
+        try (Stream<P> rows = stream(queryBean, projection)) {
+            Iterator<P> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * save or update, an existing user keeps its create time, and its roles unless others are given,
+     * and is returned as stored.
+     *
+     * @param user user
+     * @return managed user
+     */
+    @Override
+    public User saveOrUpdate(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        // the stored user stays in the session, so the merge in save needs no second select
+        User stored = user.getId() == null ? null : userDao.findById(user.getId()).orElse(null);
+        if (stored != null && user.getRoles() == null) {
+            // merging null roles would delete the role links of the user
+            user.setRoles(stored.getRoles());
+        }
+        user.setCreateTime(stored == null ? now : stored.getCreateTime());
+        user.setUpdateTime(now);
+        return userDao.save(user);
+    }
+
+    /**
+     * build specification by query.
+     *
+     * @param queryBean query
+     * @return specification
+     */
+    private Specification<User> buildSpecification(UserQueryBean queryBean) {
+        return Specifications.<User>and()
+                .predicate(StringUtils.isNotEmpty(queryBean.getName()),
+                        SearchSpecifications.search(searchMode, "userName", queryBean.getName()))
+                .predicate(StringUtils.isNotEmpty(queryBean.getDescription()),
+                        SearchSpecifications.search(searchMode, "description", queryBean.getDescription()))
                 .build();
-        return this.getBaseDao().findAll(specification, pageRequest);
     }
 
 }
@@ -15,6 +15,30 @@
 /*!40101 SET @OLD_SQL_MODE=@@SQL_MODE, SQL_MODE='NO_AUTO_VALUE_ON_ZERO' */;
 /*!40111 SET @OLD_SQL_NOTES=@@SQL_NOTES, SQL_NOTES=0 */;
 
+--
+-- Table structure for table `tb_id_generator`
+--
+
+DROP TABLE IF EXISTS `tb_id_generator`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!40101 SET character_set_client = utf8 */;
+CREATE TABLE `tb_id_generator` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `tb_id_generator`
+--
+
+LOCK TABLES `tb_id_generator` WRITE;
+/*!40000 ALTER TABLE `tb_id_generator` DISABLE KEYS */;
+INSERT INTO `tb_id_generator` VALUES ('tb_role',2),('tb_user',2);
+/*!40000 ALTER TABLE `tb_id_generator` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `tb_role`
 --
@@ -59,7 +83,11 @@ CREATE TABLE `tb_user` (
   `description` varchar(255) DEFAULT NULL,
   `create_time` datetime DEFAULT NULL,
   `update_time` datetime DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_user_name` (`user_name`),
+  KEY `idx_description` (`description`),
+  FULLTEXT KEY `ft_user_name` (`user_name`),
+  FULLTEXT KEY `ft_description` (`description`)
 ) ENGINE=InnoDB AUTO_INCREMENT=2 DEFAULT CHARSET=utf8;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -82,7 +110,8 @@ DROP TABLE IF EXISTS `tb_user_role`;
 /*!40101 SET character_set_client = utf8 */;
 CREATE TABLE `tb_user_role` (
   `user_id` int(11) NOT NULL,
-  `role_id` int(11) NOT NULL
+  `role_id` int(11) NOT NULL,
+  PRIMARY KEY (`user_id`,`role_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
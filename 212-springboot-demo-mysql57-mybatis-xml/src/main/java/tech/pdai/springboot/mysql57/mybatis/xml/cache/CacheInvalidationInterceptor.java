@@ -0,0 +1,150 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * evicts {@link CaffeineMybatisCache} entries affected by a write, in every namespace rather than only the namespace
+ * of the statement. The table comes from the sql, the row ids from the parameter.
+ * <ul>
+ *     <li>update/delete of a tagged table by id: entries embedding those rows</li>
+ *     <li>insert into the root table of a namespace: nothing, empty results are not cached</li>
+ *     <li>any other write: all entries of namespaces reading the table</li>
+ * </ul>
+ * Entries are evicted right after the statement and again after commit, so a reader that loaded the old row while the
+ * transaction was open does not keep it in cache. Statements of cached namespaces should set {@code flushCache="false"}
+ * to leave invalidation to this interceptor.
+ *
+ * @author pdai
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class CacheInvalidationInterceptor implements Interceptor {
+
+    private static final Pattern WRITE_TABLE = Pattern.compile(
+            "^\\s*(?:insert\\s+into|update|delete\\s+from)\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+        Object result = invocation.proceed();
+        if (MybatisCacheRegistry.caches().isEmpty()) {
+            return result;
+        }
+        Matcher matcher = WRITE_TABLE.matcher(ms.getBoundSql(parameter).getSql());
+        String table = matcher.find() ? matcher.group(1).toLowerCase() : null;
+        List<Object> ids = ms.getSqlCommandType() == SqlCommandType.INSERT ? null : ids(ms, parameter);
+        Runnable eviction = () -> evict(table, ms.getSqlCommandType(), ids);
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        // no properties
+    }
+
+    private static void evict(String table, SqlCommandType type, List<Object> ids) {
+        for (CaffeineMybatisCache cache : MybatisCacheRegistry.caches()) {
+            if (table == null) {
+                // unknown statement, nothing can be assumed
+                cache.clear();
+            } else if (type == SqlCommandType.INSERT) {
+                if (cache.readsTable(table) && !cache.isRootTable(table)) {
+                    cache.clear();
+                }
+            } else if (ids != null && CacheTags.isTagged(table)) {
+                List<String> tags = new ArrayList<>(ids.size());
+                ids.forEach(id -> tags.add(CacheTags.of(table, id)));
+                cache.evictTags(tags);
+            } else if (cache.readsTable(table)) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * @param ms        statement
+     * @param parameter parameter
+     * @return row ids written by the statement, null if unknown
+     */
+    private static List<Object> ids(MappedStatement ms, Object parameter) {
+        if (parameter instanceof Map) {
+            Map<?, ?> params = (Map<?, ?>) parameter;
+            // collections and arrays are wrapped by mybatis under these names
+            for (String name : new String[]{"array", "list", "collection"}) {
+                if (params.containsKey(name)) {
+                    return idsOf(ms, params.get(name));
+                }
+            }
+        }
+        return idsOf(ms, parameter);
+    }
+
+    private static List<Object> idsOf(MappedStatement ms, Object value) {
+        List<Object> ids = new ArrayList<>();
+        if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (!addId(ms, element, ids)) {
+                    return null;
+                }
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (!addId(ms, element, ids)) {
+                    return null;
+                }
+            }
+        } else if (!addId(ms, value, ids)) {
+            return null;
+        }
+        return ids;
+    }
+
+    private static boolean addId(MappedStatement ms, Object value, List<Object> ids) {
+        if (value instanceof Number) {
+            ids.add(value);
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        MetaObject metaObject = ms.getConfiguration().newMetaObject(value);
+        Object id = metaObject.hasGetter("id") ? metaObject.getValue("id") : null;
+        if (id == null) {
+            return false;
+        }
+        ids.add(id);
+        return true;
+    }
+}
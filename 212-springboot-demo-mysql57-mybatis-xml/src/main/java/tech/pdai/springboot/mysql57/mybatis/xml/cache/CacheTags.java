@@ -0,0 +1,71 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.Role;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.User;
+
+/**
+ * tags of cached results, a tag is "table:id" of a row the result was built from.
+ *
+ * @author pdai
+ */
+public final class CacheTags {
+
+    /**
+     * tables whose rows are tagged, writes to them by id evict only the entries carrying the tag.
+     */
+    private static final Set<String> TAGGED_TABLES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "tb_user", "tb_role")));
+
+    private CacheTags() {
+    }
+
+    /**
+     * @param table table
+     * @return if entries are tagged with rows of the table
+     */
+    public static boolean isTagged(String table) {
+        return TAGGED_TABLES.contains(table);
+    }
+
+    /**
+     * @param table table
+     * @param id    row id
+     * @return tag
+     */
+    public static String of(String table, Object id) {
+        return table + ":" + id;
+    }
+
+    /**
+     * @param value cached value, a result list of mapper
+     * @return tags of all rows embedded in the value
+     */
+    public static Set<String> of(Object value) {
+        Set<String> tags = new LinkedHashSet<>();
+        collect(value, tags);
+        return tags;
+    }
+
+    private static void collect(Object value, Set<String> tags) {
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collect(element, tags);
+            }
+        } else if (value instanceof User) {
+            User user = (User) value;
+            tags.add(of("tb_user", user.getId()));
+            if (user.getRoles() != null) {
+                collect(user.getRoles(), tags);
+            }
+        } else if (value instanceof Role) {
+            tags.add(of("tb_role", ((Role) value).getId()));
+        }
+    }
+}
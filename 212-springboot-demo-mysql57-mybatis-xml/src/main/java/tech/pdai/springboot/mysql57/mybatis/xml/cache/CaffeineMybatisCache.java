@@ -0,0 +1,273 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.ibatis.builder.InitializingObject;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.response.CacheStatistics;
+
+/**
+ * mybatis second level cache on caffeine, configured per mapper namespace by
+ * {@code <cache type="...CaffeineMybatisCache">} with the properties below.
+ * <ul>
+ *     <li>maximumSize: max entries, default 10000</li>
+ *     <li>expireSeconds: ttl after write, default 600</li>
+ *     <li>tables: tables read by the namespace, the first one is the root table of its results</li>
+ * </ul>
+ * Entries are tagged with the rows they embed (see {@link CacheTags}) so that {@link CacheInvalidationInterceptor} can
+ * evict exactly the entries a write touches, in any namespace. Empty results are never cached, so an insert does not
+ * make an entry stale. Values are shared instances, like {@code readOnly="true"} of the builtin cache, callers must not
+ * modify them. If a {@link SharedCacheStore} is registered it is used as second level behind caffeine.
+ *
+ * @author pdai
+ */
+public class CaffeineMybatisCache implements org.apache.ibatis.cache.Cache, InitializingObject {
+
+    private final String id;
+
+    private long maximumSize = 10_000;
+
+    private long expireSeconds = 600;
+
+    private List<String> tables = Collections.emptyList();
+
+    private Cache<Object, Object> delegate;
+
+    /**
+     * cache keys by tag, changed only inside a compute of the key so that tagging and untagging of one key are ordered
+     * like its puts and removals.
+     */
+    private final ConcurrentMap<String, Set<Object>> keysByTag = new ConcurrentHashMap<>();
+
+    /**
+     * executor of caffeine maintenance and removal notifications.
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private final LongAdder l2Hits = new LongAdder();
+
+    /**
+     * init, called by mybatis with the mapper namespace.
+     *
+     * @param id namespace
+     */
+    public CaffeineMybatisCache(final String id) {
+        this.id = id;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public void setExpireSeconds(long expireSeconds) {
+        this.expireSeconds = expireSeconds;
+    }
+
+    public void setTables(String tables) {
+        this.tables = Arrays.asList(tables.trim().split("\\s*,\\s*"));
+    }
+
+    /**
+     * called by mybatis after the properties are set.
+     */
+    @Override
+    public void initialize() {
+        this.delegate = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .executor(executor)
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    // explicit removals untag in place, an evicted key may have been put again before this runs
+                    if (cause.wasEvicted() && key != null && value != null) {
+                        delegate.asMap().compute(key, (k, current) -> {
+                            if (current == null) {
+                                untag(k, value);
+                            }
+                            return current;
+                        });
+                    }
+                })
+                .build();
+        MybatisCacheRegistry.register(this);
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @param table table
+     * @return if results of this namespace read the table
+     */
+    public boolean readsTable(String table) {
+        return tables.contains(table);
+    }
+
+    /**
+     * @param table table
+     * @return if the table is the root table of results of this namespace
+     */
+    public boolean isRootTable(String table) {
+        return !tables.isEmpty() && tables.get(0).equals(table);
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        // mybatis puts null for missed keys on commit, and empty results may be filled by a later insert
+        if (value == null || (value instanceof Collection && ((Collection<?>) value).isEmpty())) {
+            return;
+        }
+        Set<String> tags = CacheTags.of(value);
+        putLocal(key, value, tags);
+        SharedCacheStore l2 = MybatisCacheRegistry.l2Store();
+        if (l2 != null) {
+            l2.put(id, key, value, tags);
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        Object value = delegate.getIfPresent(key);
+        if (value == null) {
+            SharedCacheStore l2 = MybatisCacheRegistry.l2Store();
+            if (l2 != null) {
+                value = l2.get(id, key);
+                if (value != null) {
+                    l2Hits.increment();
+                    putLocal(key, value, CacheTags.of(value));
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        Object value = removeLocal(key);
+        SharedCacheStore l2 = MybatisCacheRegistry.l2Store();
+        if (l2 != null) {
+            l2.remove(id, key);
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        SharedCacheStore l2 = MybatisCacheRegistry.l2Store();
+        if (l2 != null) {
+            l2.clear(id);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return (int) delegate.estimatedSize();
+    }
+
+    /**
+     * evict entries carrying any of the tags, on this instance and in the second level.
+     *
+     * @param tags tags
+     */
+    public void evictTags(Collection<String> tags) {
+        evictLocalTags(tags);
+        SharedCacheStore l2 = MybatisCacheRegistry.l2Store();
+        if (l2 != null) {
+            l2.evictTags(id, tags);
+        }
+    }
+
+    /**
+     * @param tags tags, empty to evict all entries
+     */
+    void evictLocalTags(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            clearLocal();
+            return;
+        }
+        Set<Object> keys = new HashSet<>();
+        for (String tag : tags) {
+            Set<Object> tagged = keysByTag.get(tag);
+            if (tagged != null) {
+                keys.addAll(tagged);
+            }
+        }
+        keys.forEach(this::removeLocal);
+    }
+
+    /**
+     * @return statistics
+     */
+    public CacheStatistics statistics() {
+        CacheStats stats = delegate.stats();
+        long l2HitCount = l2Hits.sum();
+        long requests = stats.requestCount();
+        return CacheStatistics.builder()
+                .namespace(id)
+                .size(delegate.estimatedSize())
+                .hitCount(stats.hitCount())
+                .l2HitCount(l2HitCount)
+                .missCount(stats.missCount() - l2HitCount)
+                .evictionCount(stats.evictionCount())
+                .hitRatio(requests == 0 ? 0D : (double) (stats.hitCount() + l2HitCount) / requests)
+                .build();
+    }
+
+    private void putLocal(Object key, Object value, Set<String> tags) {
+        delegate.asMap().compute(key, (k, old) -> {
+            if (old != null) {
+                untag(k, old);
+            }
+            for (String tag : tags) {
+                keysByTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            return value;
+        });
+    }
+
+    private Object removeLocal(Object key) {
+        Object[] removed = new Object[1];
+        delegate.asMap().compute(key, (k, value) -> {
+            if (value != null) {
+                untag(k, value);
+                removed[0] = value;
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    private void clearLocal() {
+        delegate.asMap().keySet().forEach(this::removeLocal);
+    }
+
+    private void untag(Object key, Object value) {
+        for (String tag : CacheTags.of(value)) {
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
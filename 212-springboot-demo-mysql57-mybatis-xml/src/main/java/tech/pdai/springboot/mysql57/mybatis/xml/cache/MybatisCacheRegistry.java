@@ -0,0 +1,57 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * caches are created by mybatis rather than spring, this registry connects them with the invalidation interceptor and
+ * the optional redis level.
+ *
+ * @author pdai
+ */
+public final class MybatisCacheRegistry {
+
+    private static final Map<String, CaffeineMybatisCache> CACHES = new ConcurrentHashMap<>();
+
+    private static volatile SharedCacheStore l2Store;
+
+    private MybatisCacheRegistry() {
+    }
+
+    static void register(CaffeineMybatisCache cache) {
+        CACHES.put(cache.getId(), cache);
+    }
+
+    /**
+     * @return caches by namespace
+     */
+    public static Collection<CaffeineMybatisCache> caches() {
+        return Collections.unmodifiableCollection(CACHES.values());
+    }
+
+    static SharedCacheStore l2Store() {
+        return l2Store;
+    }
+
+    /**
+     * @param store second level shared by all caches, null to disable
+     */
+    public static void setL2Store(SharedCacheStore store) {
+        l2Store = store;
+    }
+
+    /**
+     * evict on this instance only, used for evictions published by other instances.
+     *
+     * @param namespace namespace
+     * @param tags      tags, empty for all entries
+     */
+    static void evictLocal(String namespace, Collection<String> tags) {
+        CaffeineMybatisCache cache = CACHES.get(namespace);
+        if (cache != null) {
+            cache.evictLocalTags(tags);
+        }
+    }
+}
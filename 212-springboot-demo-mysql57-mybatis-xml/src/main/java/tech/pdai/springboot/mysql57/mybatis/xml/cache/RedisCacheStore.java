@@ -0,0 +1,155 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.DigestUtils;
+
+/**
+ * redis backed second level of {@link CaffeineMybatisCache}, shared by all instances of the application. Evictions are
+ * published on {@link #CHANNEL} so that the other instances drop their local entries too.
+ *
+ * @author pdai
+ */
+@Slf4j
+public class RedisCacheStore implements SharedCacheStore, MessageListener {
+
+    /**
+     * eviction channel, message is "namespace\ntag,tag", no tags means the whole namespace.
+     */
+    public static final String CHANNEL = "mybatis-cache:evict";
+
+    private static final String PREFIX = "mybatis-cache:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Duration ttl;
+
+    /**
+     * init.
+     *
+     * @param redisTemplate2 redis template with jdk serialized values
+     * @param ttl2           ttl of entries
+     */
+    public RedisCacheStore(final RedisTemplate<String, Object> redisTemplate2, final Duration ttl2) {
+        this.redisTemplate = redisTemplate2;
+        this.ttl = ttl2;
+    }
+
+    @Override
+    public Object get(String namespace, Object key) {
+        try {
+            return redisTemplate.opsForValue().get(entryKey(namespace, key));
+        } catch (RuntimeException e) {
+            // l2 is best effort, db is the fallback
+            log.warn("get mybatis cache entry from redis failed", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String namespace, Object key, Object value, Set<String> tags) {
+        String entryKey = entryKey(namespace, key);
+        try {
+            redisTemplate.opsForValue().set(entryKey, value, ttl);
+            for (String tag : tags) {
+                String tagKey = tagKey(namespace, tag);
+                redisTemplate.opsForSet().add(tagKey, entryKey);
+                redisTemplate.expire(tagKey, ttl);
+            }
+            redisTemplate.opsForSet().add(namespaceKey(namespace), entryKey);
+            redisTemplate.expire(namespaceKey(namespace), ttl);
+        } catch (RuntimeException e) {
+            log.warn("put mybatis cache entry to redis failed", e);
+        }
+    }
+
+    @Override
+    public void remove(String namespace, Object key) {
+        try {
+            redisTemplate.delete(entryKey(namespace, key));
+        } catch (RuntimeException e) {
+            log.warn("remove mybatis cache entry from redis failed", e);
+        }
+    }
+
+    @Override
+    public void evictTags(String namespace, Collection<String> tags) {
+        try {
+            List<String> keys = new ArrayList<>();
+            for (String tag : tags) {
+                String tagKey = tagKey(namespace, tag);
+                Set<Object> entryKeys = redisTemplate.opsForSet().members(tagKey);
+                if (entryKeys != null) {
+                    entryKeys.forEach(entryKey -> keys.add((String) entryKey));
+                }
+                keys.add(tagKey);
+            }
+            redisTemplate.delete(keys);
+            redisTemplate.convertAndSend(CHANNEL, namespace + "\n" + String.join(",", tags));
+        } catch (RuntimeException e) {
+            log.warn("evict mybatis cache tags from redis failed", e);
+        }
+    }
+
+    @Override
+    public void clear(String namespace) {
+        try {
+            Set<Object> entryKeys = redisTemplate.opsForSet().members(namespaceKey(namespace));
+            List<String> keys = new ArrayList<>();
+            if (entryKeys != null) {
+                entryKeys.forEach(entryKey -> keys.add((String) entryKey));
+            }
+            keys.add(namespaceKey(namespace));
+            redisTemplate.delete(keys);
+            redisTemplate.convertAndSend(CHANNEL, namespace + "\n");
+        } catch (RuntimeException e) {
+            log.warn("clear mybatis cache namespace in redis failed", e);
+        }
+    }
+
+    /**
+     * evictions published by any instance, including this one, only the local level is evicted here.
+     *
+     * @param message message
+     * @param pattern pattern
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String)) {
+            return;
+        }
+        String text = (String) body;
+        int split = text.indexOf('\n');
+        if (split < 0) {
+            return;
+        }
+        String tags = text.substring(split + 1);
+        List<String> tagList = tags.isEmpty() ? Collections.emptyList() : Arrays.asList(tags.split(","));
+        MybatisCacheRegistry.evictLocal(text.substring(0, split), tagList);
+    }
+
+    private static String entryKey(String namespace, Object key) {
+        // cache key renders statement, sql and parameters, so it is the same on every instance
+        return PREFIX + namespace + ":" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String tagKey(String namespace, String tag) {
+        return PREFIX + namespace + ":tag:" + tag;
+    }
+
+    private static String namespaceKey(String namespace) {
+        return PREFIX + namespace + ":keys";
+    }
+}
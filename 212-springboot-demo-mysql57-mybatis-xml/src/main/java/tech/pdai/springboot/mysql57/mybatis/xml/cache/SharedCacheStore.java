@@ -0,0 +1,49 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * second level of {@link CaffeineMybatisCache}, shared by all instances of the application. The redis implementation
+ * is only built with the {@code redis} maven profile.
+ *
+ * @author pdai
+ */
+public interface SharedCacheStore {
+
+    /**
+     * @param namespace namespace
+     * @param key       cache key
+     * @return value or null
+     */
+    Object get(String namespace, Object key);
+
+    /**
+     * @param namespace namespace
+     * @param key       cache key
+     * @param value     value
+     * @param tags      tags of value
+     */
+    void put(String namespace, Object key, Object value, Set<String> tags);
+
+    /**
+     * @param namespace namespace
+     * @param key       cache key
+     */
+    void remove(String namespace, Object key);
+
+    /**
+     * remove entries with any of the tags, and notify the other instances.
+     *
+     * @param namespace namespace
+     * @param tags      tags
+     */
+    void evictTags(String namespace, Collection<String> tags);
+
+    /**
+     * remove all entries of namespace, and notify the other instances.
+     *
+     * @param namespace namespace
+     */
+    void clear(String namespace);
+}
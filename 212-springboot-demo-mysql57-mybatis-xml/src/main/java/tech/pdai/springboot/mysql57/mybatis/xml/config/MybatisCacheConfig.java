@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.pdai.springboot.mysql57.mybatis.xml.cache.CacheInvalidationInterceptor;
+
+/**
+ * mybatis second level cache config, the caches themselves are declared in mapper xml. The redis level is in
+ * {@code MybatisRedisCacheConfig}, built with the {@code redis} maven profile only.
+ *
+ * @author pdai
+ */
+@Configuration
+public class MybatisCacheConfig {
+
+    /**
+     * picked up by mybatis auto configuration as plugin.
+     *
+     * @return interceptor
+     */
+    @Bean
+    public CacheInvalidationInterceptor cacheInvalidationInterceptor() {
+        return new CacheInvalidationInterceptor();
+    }
+}
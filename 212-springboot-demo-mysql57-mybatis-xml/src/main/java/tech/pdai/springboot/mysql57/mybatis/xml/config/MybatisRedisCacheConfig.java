@@ -0,0 +1,59 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import tech.pdai.springboot.mysql57.mybatis.xml.cache.MybatisCacheRegistry;
+import tech.pdai.springboot.mysql57.mybatis.xml.cache.RedisCacheStore;
+
+/**
+ * redis level of the mybatis cache for multi-instance deployment, compiled with {@code mvn -Predis} only.
+ *
+ * @author pdai
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mybatis-cache.redis", name = "enabled", havingValue = "true")
+public class MybatisRedisCacheConfig {
+
+    /**
+     * @param factory factory
+     * @param ttl     ttl of redis entries
+     * @return redis store
+     */
+    @Bean
+    public RedisCacheStore redisCacheStore(RedisConnectionFactory factory,
+                                           @Value("${mybatis-cache.redis.ttl:10m}") Duration ttl) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        // cached values are mybatis result lists of serializable entities
+        template.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        template.afterPropertiesSet();
+        RedisCacheStore store = new RedisCacheStore(template, ttl);
+        MybatisCacheRegistry.setL2Store(store);
+        return store;
+    }
+
+    /**
+     * @param factory factory
+     * @param store   redis store, listens to evictions of other instances
+     * @return listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer mybatisCacheListenerContainer(RedisConnectionFactory factory,
+                                                                       RedisCacheStore store) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(store, new ChannelTopic(RedisCacheStore.CHANNEL));
+        return container;
+    }
+}
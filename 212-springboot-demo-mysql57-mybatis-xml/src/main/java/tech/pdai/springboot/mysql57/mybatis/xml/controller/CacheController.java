@@ -0,0 +1,33 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.controller;
+
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.swagger.annotations.ApiOperation;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.pdai.springboot.mysql57.mybatis.xml.cache.CaffeineMybatisCache;
+import tech.pdai.springboot.mysql57.mybatis.xml.cache.MybatisCacheRegistry;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.response.CacheStatistics;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.response.ResponseResult;
+
+/**
+ * @author pdai
+ */
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    /**
+     * @return statistics per mapper namespace
+     */
+    @ApiOperation("Query MyBatis Cache Statistics")
+    @GetMapping("stats")
+    public ResponseResult<List<CacheStatistics>> stats() {
+        return ResponseResult.success(MybatisCacheRegistry.caches().stream()
+                .map(CaffeineMybatisCache::statistics)
+                .collect(Collectors.toList()));
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import tech.pdai.springboot.mysql57.mybatis.xml.entity.Role;
@@ -31,4 +32,14 @@ public class RoleController {
     public ResponseResult<List<Role>> list(RoleQueryBean roleQueryBean) {
         return ResponseResult.success(roleService.findList(roleQueryBean));
     }
+
+    /**
+     * @param role role param
+     * @return affected rows
+     */
+    @ApiOperation("Edit Role")
+    @PostMapping("edit")
+    public ResponseResult<Integer> edit(Role role) {
+        return ResponseResult.success(roleService.update(role));
+    }
 }
@@ -12,4 +12,6 @@ import tech.pdai.springboot.mysql57.mybatis.xml.entity.query.RoleQueryBean;
 @Mapper
 public interface IRoleDao {
     List<Role> findList(RoleQueryBean roleQueryBean);
+
+    int update(Role role);
 }
@@ -0,0 +1,50 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.entity.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * statistics of a mybatis cache namespace since startup.
+ *
+ * @author pdai
+ */
+@Data
+@Builder
+public class CacheStatistics {
+
+    /**
+     * mapper namespace.
+     */
+    private String namespace;
+
+    /**
+     * local entries.
+     */
+    private long size;
+
+    /**
+     * hits of local level.
+     */
+    private long hitCount;
+
+    /**
+     * hits of redis level.
+     */
+    private long l2HitCount;
+
+    /**
+     * misses of both levels.
+     */
+    private long missCount;
+
+    /**
+     * local entries evicted by size or ttl.
+     */
+    private long evictionCount;
+
+    /**
+     * hits of both levels / requests.
+     */
+    private double hitRatio;
+
+}
@@ -9,4 +9,6 @@ public interface IRoleService {
 
     List<Role> findList(RoleQueryBean roleQueryBean);
 
+    int update(Role role);
+
 }
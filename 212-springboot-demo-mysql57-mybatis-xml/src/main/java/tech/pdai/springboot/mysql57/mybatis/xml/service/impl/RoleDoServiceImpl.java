@@ -29,4 +29,9 @@ public class RoleDoServiceImpl implements IRoleService {
     public List<Role> findList(RoleQueryBean roleQueryBean) {
         return roleDao.findList(roleQueryBean);
     }
+
+    @Override
+    public int update(Role role) {
+        return roleDao.update(role);
+    }
 }
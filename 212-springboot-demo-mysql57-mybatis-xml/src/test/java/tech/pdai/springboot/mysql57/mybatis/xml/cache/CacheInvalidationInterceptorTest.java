@@ -0,0 +1,95 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql57.mybatis.xml.dao.IRoleDao;
+import tech.pdai.springboot.mysql57.mybatis.xml.dao.IUserDao;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.Role;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * eviction of cached {@link IUserDao#findById} results by mapper writes on H2 in MySQL mode. Rows changed by jdbc
+ * bypass the interceptor, so they show whether a result still comes from the cache.
+ *
+ * @author pdai
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class CacheInvalidationInterceptorTest {
+
+    @Autowired
+    private IUserDao userDao;
+
+    @Autowired
+    private IRoleDao roleDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        clearCaches();
+        jdbcTemplate.update("insert into tb_role(id, name, role_key) values (2, 'user', 'user')");
+        jdbcTemplate.update("insert into tb_user(id, user_name, password) values (1, 'admin_user', 'pwd')");
+        jdbcTemplate.update("insert into tb_user(id, user_name, password) values (2, 'normal_user', 'pwd')");
+        jdbcTemplate.update("insert into tb_user_role(user_id, role_id) values (1, 1), (2, 2)");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+        jdbcTemplate.update("delete from tb_role where id = 2");
+        jdbcTemplate.update("update tb_role set name = 'admin' where id = 1");
+        clearCaches();
+    }
+
+    @Test
+    public void roleUpdateEvictsUsersOfRoleOnly() {
+        assertEquals("admin", roleName(userDao.findById(1L)));
+        assertEquals("user", roleName(userDao.findById(2L)));
+        jdbcTemplate.update("update tb_role set name = 'stale' where id = 2");
+
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("administrator");
+        roleDao.update(role);
+
+        // IRoleDao namespace wrote tb_role:1, the IUserDao entry embedding it is gone
+        assertEquals("administrator", roleName(userDao.findById(1L)));
+        // the entry of the other role is kept
+        assertEquals("user", roleName(userDao.findById(2L)));
+    }
+
+    @Test
+    public void userUpdateEvictsThatUserOnly() {
+        assertEquals("admin_user", userDao.findById(1L).getUserName());
+        assertEquals("normal_user", userDao.findById(2L).getUserName());
+        jdbcTemplate.update("update tb_user set user_name = 'stale' where id = 2");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUserName("renamed");
+        userDao.update(user);
+
+        assertEquals("renamed", userDao.findById(1L).getUserName());
+        assertEquals("normal_user", userDao.findById(2L).getUserName());
+    }
+
+    private static String roleName(User user) {
+        assertEquals(1, user.getRoles().size());
+        return user.getRoles().get(0).getName();
+    }
+
+    private static void clearCaches() {
+        MybatisCacheRegistry.caches().forEach(CaffeineMybatisCache::clear);
+    }
+
+}
@@ -0,0 +1,94 @@
+package tech.pdai.springboot.mysql57.mybatis.xml.cache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+import tech.pdai.springboot.mysql57.mybatis.xml.entity.User;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * tag bookkeeping of {@link CaffeineMybatisCache}, removal notifications are held back to run when the test decides.
+ *
+ * @author pdai
+ */
+class CaffeineMybatisCacheTest {
+
+    private static final String KEY = "findList";
+
+    private static final String USER_TAG = CacheTags.of("tb_user", 1L);
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void evictAfterReputWhenNotificationRunsLate() {
+        CaffeineMybatisCache cache = newCache("evictAfterReput");
+        List<User> users = users(1L);
+
+        cache.putObject(KEY, users);
+        cache.evictTags(Collections.singleton(USER_TAG));
+        assertNull(cache.getObject(KEY));
+
+        // re-read puts the same key before the removal notification of the evicted entry runs
+        cache.putObject(KEY, users);
+        runPending();
+        assertSame(users, cache.getObject(KEY));
+
+        cache.evictTags(Collections.singleton(USER_TAG));
+        assertNull(cache.getObject(KEY));
+    }
+
+    @Test
+    public void evictAfterRemoveAndReput() {
+        CaffeineMybatisCache cache = newCache("evictAfterRemove");
+        List<User> users = users(1L);
+
+        cache.putObject(KEY, users);
+        cache.removeObject(KEY);
+        cache.putObject(KEY, users);
+        runPending();
+
+        cache.evictTags(Collections.singleton(USER_TAG));
+        assertNull(cache.getObject(KEY));
+    }
+
+    @Test
+    public void replacedEntryIsTaggedWithNewRowsOnly() {
+        CaffeineMybatisCache cache = newCache("replaced");
+
+        cache.putObject(KEY, users(1L));
+        List<User> replaced = users(2L);
+        cache.putObject(KEY, replaced);
+        runPending();
+
+        cache.evictTags(Collections.singleton(USER_TAG));
+        assertSame(replaced, cache.getObject(KEY));
+        cache.evictTags(Collections.singleton(CacheTags.of("tb_user", 2L)));
+        assertNull(cache.getObject(KEY));
+    }
+
+    private CaffeineMybatisCache newCache(String namespace) {
+        CaffeineMybatisCache cache = new CaffeineMybatisCache(namespace);
+        cache.setTables("tb_user, tb_role");
+        cache.setExecutor(pending::add);
+        cache.initialize();
+        return cache;
+    }
+
+    private void runPending() {
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static List<User> users(Long id) {
+        User user = new User();
+        user.setId(id);
+        return Collections.singletonList(user);
+    }
+}
@@ -1,13 +1,16 @@
 package tech.pdai.springboot.mysql57.mybatis.anno.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.ResultMap;
 import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.Role;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.UserRole;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.query.RoleQueryBean;
 
 /**
@@ -32,6 +35,25 @@ public interface IRoleDao {
     List<Role> findList(RoleQueryBean roleQueryBean);
 
     @ResultMap("RoleResult")
-    @Select("select r.id, r.name, r.role_key, r.description, r.create_time, r.update_time from tb_role r, tb_user_role ur where r.id = ur.user_id and ur.user_id = #{userId}")
+    @Select("select r.id, r.name, r.role_key, r.description, r.create_time, r.update_time from tb_role r, tb_user_role ur where r.id = ur.role_id and ur.user_id = #{userId}")
     List<Role> findRoleByUserId(Long userId);
+
+    @Results(
+            id = "UserRoleResult",
+            value = {
+                    @Result(property = "userId", column = "user_id"),
+                    @Result(property = "role.id", column = "id"),
+                    @Result(property = "role.name", column = "name"),
+                    @Result(property = "role.roleKey", column = "role_key"),
+                    @Result(property = "role.description", column = "description"),
+                    @Result(property = "role.createTime", column = "create_time"),
+                    @Result(property = "role.updateTime", column = "update_time")
+            }
+    )
+    @Select({"<script> ", "select ur.user_id, r.id, r.name, r.role_key, r.description, r.create_time, r.update_time" +
+            " from tb_role r, tb_user_role ur where r.id = ur.role_id and ur.user_id in\n" +
+            "<foreach collection=\"userIds\" item=\"userId\" open=\"(\" separator=\",\" close=\")\">\n" +
+            "#{userId}\n" +
+            "</foreach>", " </script>"})
+    List<UserRole> findRoleByUserIds(@Param("userIds") Collection<Long> userIds);
 }
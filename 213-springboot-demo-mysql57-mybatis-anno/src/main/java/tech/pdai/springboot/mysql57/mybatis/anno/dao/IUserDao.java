@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Lang;
 import org.apache.ibatis.annotations.Many;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Options;
@@ -15,6 +16,9 @@ import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.SelectProvider;
 import org.apache.ibatis.annotations.Update;
 import org.apache.ibatis.mapping.FetchType;
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.mysql57.mybatis.anno.config.UseExecutor;
+import tech.pdai.springboot.mysql57.mybatis.anno.dao.provider.CachingLanguageDriver;
 import tech.pdai.springboot.mysql57.mybatis.anno.dao.provider.UserDaoProvider;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.User;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.query.UserQueryBean;
@@ -27,6 +31,19 @@ public interface IUserDao {
 
     String SELECT_USER_SQL = "select u.id, u.password, u.user_name, u.email, u.phone_number, u.description, u.create_time, u.update_time from tb_user u";
 
+    String USER_FILTER_SQL = "\t\t<if test=\"query.userName != null and query.userName != ''\">\n" +
+            "AND u.user_name like concat('%', #{query.userName}, '%')\n" +
+            "\t\t</if>\n" +
+            "\t\t<if test=\"query.description != null and query.description != ''\">\n" +
+            "AND u.description like concat('%', #{query.description}, '%')\n" +
+            "\t\t</if>\n" +
+            "\t\t<if test=\"query.phoneNumber != null and query.phoneNumber != ''\">\n" +
+            "AND u.phone_number like concat('%', #{query.phoneNumber}, '%')\n" +
+            "\t\t</if>\n" +
+            "\t\t<if test=\"query.email != null and query.email != ''\">\n" +
+            "AND u.email like concat('%', #{query.email}, '%')\n" +
+            "\t\t</if>";
+
     @Results(
             id = "UserResult",
             value = {
@@ -48,21 +65,43 @@ public interface IUserDao {
     @Select(SELECT_USER_SQL)
     User findAll();
 
-    @ResultMap("UserResult")
-    @Select({"<script> ", SELECT_USER_SQL, " where u.id != 0\n" +
-            "\t\t<if test=\"userName != null and userName != ''\">\n" +
-            "AND u.user_name like concat('%', #{user_name}, '%')\n" +
-            "\t\t</if>\n" +
-            "\t\t<if test=\"description != null and description != ''\">\n" +
-            "AND u.description like concat('%', #{description}, '%')\n" +
-            "\t\t</if>\n" +
-            "\t\t<if test=\"phoneNumber != null and phoneNumber != ''\">\n" +
-            "AND u.phone_number like concat('%', #{phoneNumber}, '%')\n" +
-            "\t\t</if>\n" +
-            "\t\t<if test=\"email != null and email != ''\">\n" +
-            "AND u.email like concat('%', #{email}, '%')\n" +
-            "\t\t</if>", " </script>"})
-    List<User> findList(UserQueryBean userQueryBean);
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used. roles are not
+     * mapped, the service loads them for the whole list in batched queries.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
+    @Results(
+            id = "UserListResult",
+            value = {
+                    @Result(id = true, property = "id", column = "id"),
+                    @Result(property = "userName", column = "user_name"),
+                    @Result(property = "password", column = "password"),
+                    @Result(property = "email", column = "email"),
+                    @Result(property = "phoneNumber", column = "phone_number"),
+                    @Result(property = "description", column = "description"),
+                    @Result(property = "createTime", column = "create_time"),
+                    @Result(property = "updateTime", column = "update_time")
+            }
+    )
+    @Select({"<script> ", SELECT_USER_SQL, " where u.id != 0\n", USER_FILTER_SQL, " </script>"})
+    @UseExecutor(ExecutorType.SIMPLE)
+    List<User> findList(@Param("query") UserQueryBean userQueryBean);
+
+    /**
+     * keyset page ordered by id, roles are not mapped.
+     *
+     * @param userQueryBean query
+     * @param after         id of the last user of previous page
+     * @param limit         max users
+     * @return users
+     */
+    @ResultMap("UserListResult")
+    @Select({"<script> ", SELECT_USER_SQL, " where u.id > #{after}\n", USER_FILTER_SQL,
+            " order by u.id limit #{limit}", " </script>"})
+    List<User> findPageAfter(@Param("query") UserQueryBean userQueryBean, @Param("after") long after,
+                             @Param("limit") int limit);
 
     @Delete("delete from tb_user where id = #{id}")
     int deleteById(Long id);
@@ -104,10 +143,35 @@ public interface IUserDao {
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int save(User user);
 
+    /**
+     * multi-row insert, generated ids are not written back. Empty values are stored as null through nullif, the
+     * column default that {@link #save(User)} leaves in place when it drops the column.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    @Insert({"<script> ", "insert into tb_user(user_name, password, email, phone_number, description, create_time, update_time)\n" +
+            " values\n" +
+            " <foreach collection=\"users\" item=\"user\" separator=\",\">\n" +
+            " (#{user.userName}, #{user.password}, nullif(#{user.email}, ''), nullif(#{user.phoneNumber}, 0), nullif(#{user.description}, ''), sysdate(), sysdate())\n" +
+            " </foreach>", " </script>"})
+    int saveAll(@Param("users") List<User> users);
+
+    /**
+     * update all editable columns, nulls included.
+     *
+     * @param user user
+     * @return affected rows
+     */
+    @Update({"update tb_user set user_name = #{userName}, email = #{email}, phone_number = #{phoneNumber},",
+            " description = #{description}, update_time = sysdate() where id = #{id}"})
+    int updateAllColumns(User user);
+
     @Update({"update tb_user set password = #{password}, update_time = sysdate()", " where id = #{id}"})
     int updatePassword(User user);
 
     @ResultMap("UserResult")
+    @Lang(CachingLanguageDriver.class)
     @SelectProvider(type = UserDaoProvider.class, method = "findById")
     User findById2(Long id);
 
@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql57.mybatis.anno.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * role of a user, row of the batched role lookup.
+ *
+ * @author pdai
+ */
+@Getter
+@Setter
+public class UserRole implements BaseEntity {
+
+    /**
+     * user id.
+     */
+    private Long userId;
+
+    /**
+     * role.
+     */
+    private Role role;
+
+}
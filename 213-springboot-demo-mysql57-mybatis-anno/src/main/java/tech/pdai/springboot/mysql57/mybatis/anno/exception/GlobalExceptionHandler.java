@@ -0,0 +1,49 @@
+package tech.pdai.springboot.mysql57.mybatis.anno.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import tech.pdai.springboot.mysql57.mybatis.anno.constants.ResponseStatus;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.response.ResponseResult;
+
+/**
+ * @author pdai
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * tampered or stale cursor is a client error.
+     *
+     * @param e exception
+     * @return 400 response
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ResponseResult<Void>> handleInvalidCursorException(InvalidCursorException e) {
+        log.warn("invalid cursor: {}", e.getCause().getMessage());
+        return ResponseEntity.badRequest().body(ResponseResult.<Void>builder()
+                .message(e.getMessage())
+                .status(ResponseStatus.HTTP_STATUS_400.getResponseCode())
+                .timestamp(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * invalid request parameter is a client error.
+     *
+     * @param e exception
+     * @return 400 response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ResponseResult<Void>> handleIllegalArgumentException(IllegalArgumentException e) {
+        log.warn("invalid request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(ResponseResult.<Void>builder()
+                .message(e.getMessage())
+                .status(ResponseStatus.HTTP_STATUS_400.getResponseCode())
+                .timestamp(System.currentTimeMillis())
+                .build());
+    }
+
+}
@@ -0,0 +1,21 @@
+package tech.pdai.springboot.mysql57.mybatis.anno.exception;
+
+/**
+ * cursor of keyset pagination can not be decoded, e.g. it was altered by client.
+ *
+ * @author pdai
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * init.
+     *
+     * @param cause cause
+     */
+    public InvalidCursorException(Throwable cause) {
+        super("invalid cursor", cause);
+    }
+
+}
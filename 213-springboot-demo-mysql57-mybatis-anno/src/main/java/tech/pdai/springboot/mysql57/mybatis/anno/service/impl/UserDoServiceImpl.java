@@ -1,33 +1,123 @@
 package tech.pdai.springboot.mysql57.mybatis.anno.service.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.mysql57.mybatis.anno.dao.IRoleDao;
 import tech.pdai.springboot.mysql57.mybatis.anno.dao.IUserDao;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.User;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.UserRole;
 import tech.pdai.springboot.mysql57.mybatis.anno.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.response.ScrollResult;
 import tech.pdai.springboot.mysql57.mybatis.anno.service.IUserService;
 
 @Service
 public class UserDoServiceImpl implements IUserService {
 
+    /**
+     * max user ids per role lookup, keeps the IN list and its statement small.
+     */
+    private static final int ROLE_BATCH_SIZE = 500;
+
+    /**
+     * max users of one keyset page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * rows of one multi-row insert.
+     */
+    private static final int INSERT_ROWS = 200;
+
+    /**
+     * rows sent to db per flush of the batch executor.
+     */
+    private static final int FLUSH_ROWS = 1000;
+
     /**
      * userDao.
      */
     private final IUserDao userDao;
 
+    /**
+     * roleDao.
+     */
+    private final IRoleDao roleDao;
+
+    /**
+     * sqlSessionFactory, opens BATCH sessions for bulk writes.
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
     /**
      * init.
      *
-     * @param userDao2 user dao
+     * @param userDao2           user dao
+     * @param roleDao2           role dao
+     * @param sqlSessionFactory2 sql session factory
      */
-    public UserDoServiceImpl(final IUserDao userDao2) {
+    public UserDoServiceImpl(final IUserDao userDao2, final IRoleDao roleDao2,
+                             final SqlSessionFactory sqlSessionFactory2) {
         this.userDao = userDao2;
+        this.roleDao = roleDao2;
+        this.sqlSessionFactory = sqlSessionFactory2;
     }
 
     @Override
     public List<User> findList(UserQueryBean userQueryBean) {
-        return userDao.findList(userQueryBean);
+        List<User> users = userDao.findList(userQueryBean);
+        fillRoles(users);
+        return users;
+    }
+
+    @Override
+    public ScrollResult<User> findPageAfter(UserQueryBean userQueryBean, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long after = ScrollResult.decodeCursor(cursor);
+        // one more row tells if there is a next page
+        List<User> users = userDao.findPageAfter(userQueryBean, after == null ? 0L : after, size + 1);
+        boolean hasNext = users.size() > size;
+        List<User> content = hasNext ? users.subList(0, size) : users;
+        fillRoles(content);
+        return ScrollResult.<User>builder()
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? ScrollResult.encodeCursor(content.get(size - 1).getId()) : null)
+                .build();
+    }
+
+    /**
+     * users are read in keyset pages of {@link #ROLE_BATCH_SIZE} rather than from one streaming cursor, mysql does
+     * not allow the role lookup on a connection with an open streaming result.
+     *
+     * @param userQueryBean query
+     * @param consumer      consumer
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(UserQueryBean userQueryBean, Consumer<User> consumer) {
+        long after = 0L;
+        List<User> users;
+        do {
+            users = userDao.findPageAfter(userQueryBean, after, ROLE_BATCH_SIZE);
+            if (!users.isEmpty()) {
+                fillRoles(users);
+                users.forEach(consumer);
+                after = users.get(users.size() - 1).getId();
+            }
+        } while (users.size() == ROLE_BATCH_SIZE);
     }
 
     @Override
@@ -55,6 +145,80 @@ public class UserDoServiceImpl implements IUserService {
         return userDao.save(user);
     }
 
+    /**
+     * insert users as multi-row inserts of {@link #INSERT_ROWS} rows through a BATCH session, the batch is
+     * flushed every {@link #FLUSH_ROWS} rows. The session uses the spring managed connection, so all rows
+     * commit or roll back together.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int saveBatch(List<User> users) {
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (!StringUtils.hasText(user.getUserName()) || !StringUtils.hasText(user.getPassword())) {
+                throw new IllegalArgumentException("userName and password are required, missing in user " + i);
+            }
+        }
+        int rows = 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            IUserDao batchDao = session.getMapper(IUserDao.class);
+            int pending = 0;
+            for (int from = 0; from < users.size(); from += INSERT_ROWS) {
+                List<User> chunk = users.subList(from, Math.min(from + INSERT_ROWS, users.size()));
+                batchDao.saveAll(chunk);
+                pending += chunk.size();
+                if (pending >= FLUSH_ROWS) {
+                    rows += flush(session);
+                    pending = 0;
+                }
+            }
+            rows += flush(session);
+            session.commit();
+        }
+        return rows;
+    }
+
+    /**
+     * update users one statement per row through a BATCH session, the batch is flushed every
+     * {@link #FLUSH_ROWS} rows.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int updateBatch(List<User> users) {
+        int rows = 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            IUserDao batchDao = session.getMapper(IUserDao.class);
+            int pending = 0;
+            for (User user : users) {
+                batchDao.updateAllColumns(user);
+                if (++pending >= FLUSH_ROWS) {
+                    rows += flush(session);
+                    pending = 0;
+                }
+            }
+            rows += flush(session);
+            session.commit();
+        }
+        return rows;
+    }
+
+    private static int flush(SqlSession session) {
+        int rows = 0;
+        for (BatchResult result : session.flushStatements()) {
+            for (int count : result.getUpdateCounts()) {
+                // driver may report SUCCESS_NO_INFO for rewritten batches
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
     @Override
     public int updatePassword(User user) {
         return userDao.updatePassword(user);
@@ -64,4 +228,24 @@ public class UserDoServiceImpl implements IUserService {
     public User findById2(Long userId) {
         return userDao.findById2(userId);
     }
+
+    /**
+     * load roles of all users with one query per {@link #ROLE_BATCH_SIZE} users instead of one per user.
+     *
+     * @param users users
+     */
+    private void fillRoles(List<User> users) {
+        Map<Long, User> usersById = new LinkedHashMap<>();
+        for (User user : users) {
+            user.setRoles(new ArrayList<>());
+            usersById.put(user.getId(), user);
+        }
+        List<Long> userIds = new ArrayList<>(usersById.keySet());
+        for (int from = 0; from < userIds.size(); from += ROLE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + ROLE_BATCH_SIZE, userIds.size()));
+            for (UserRole userRole : roleDao.findRoleByUserIds(batch)) {
+                usersById.get(userRole.getUserId()).getRoles().add(userRole.getRole());
+            }
+        }
+    }
 }
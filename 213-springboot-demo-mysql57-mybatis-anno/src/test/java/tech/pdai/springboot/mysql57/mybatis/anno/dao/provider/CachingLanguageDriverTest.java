@@ -0,0 +1,131 @@
+package tech.pdai.springboot.mysql57.mybatis.anno.dao.provider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.annotation.ProviderSqlSource;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql57.mybatis.anno.dao.IUserDao;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * builds the sql of a user lookup by id through each way to declare it, and compares ns/call and bytes/call:
+ * <ul>
+ *     <li>static {@code @Select} of {@code IUserDao.findById}, parsed once at startup</li>
+ *     <li>{@code @SelectProvider} with {@link CachingLanguageDriver} of {@code IUserDao.findById2}</li>
+ *     <li>the same provider without {@code @Lang}, which parses the returned sql on every call</li>
+ * </ul>
+ * Only the statement preparation of mybatis is timed, the database round trip is the same for all three.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class CachingLanguageDriverTest {
+
+    private static final int CALLS = 200_000;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    private SqlSource select;
+
+    private SqlSource cached;
+
+    private SqlSource uncached;
+
+    /**
+     * findById has @Param("id"), so mybatis passes a param map, the provider methods get the id itself.
+     */
+    private final MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+
+    /**
+     * keeps the built sql alive, so the calls are not optimized away.
+     */
+    private int sink;
+
+    @BeforeEach
+    public void setUp() throws NoSuchMethodException {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        select = configuration.getMappedStatement(IUserDao.class.getName() + ".findById").getSqlSource();
+        cached = configuration.getMappedStatement(IUserDao.class.getName() + ".findById2").getSqlSource();
+        Method method = UncachedUserDao.class.getMethod("findById", Long.class);
+        uncached = new ProviderSqlSource(configuration, method.getAnnotation(SelectProvider.class),
+                UncachedUserDao.class, method);
+        params.put("id", 1L);
+        params.put("param1", 1L);
+    }
+
+    @Test
+    public void cachedProviderBuildsSameSql() {
+        assertEquals(uncached.getBoundSql(1L).getSql(), cached.getBoundSql(1L).getSql());
+        assertEquals(1, cached.getBoundSql(1L).getParameterMappings().size());
+        assertEquals(cached.getBoundSql(1L).getSql(), cached.getBoundSql(2L).getSql());
+    }
+
+    @Test
+    public void cachedProviderIsCheaperThanUncached() {
+        // warm up jit of all before any is measured
+        build(select, params, CALLS / 2);
+        build(cached, 1L, CALLS / 2);
+        build(uncached, 1L, CALLS / 2);
+
+        long[] selectCost = measure("static @Select", select, params);
+        long[] cachedCost = measure("@SelectProvider with CachingLanguageDriver", cached, 1L);
+        long[] uncachedCost = measure("@SelectProvider without @Lang", uncached, 1L);
+
+        assertTrue(cachedCost[0] < uncachedCost[0], "cached " + cachedCost[0] + " ns, uncached "
+                + uncachedCost[0] + " ns");
+        assertTrue(cachedCost[1] < uncachedCost[1], "cached " + cachedCost[1] + " bytes, uncached "
+                + uncachedCost[1] + " bytes");
+        log.debug("sink {}, static @Select {} ns/call", sink, selectCost[0]);
+    }
+
+    /**
+     * @return ns/call and bytes/call
+     */
+    private long[] measure(String name, SqlSource sqlSource, Object parameter) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        build(sqlSource, parameter, CALLS);
+        long nanos = (System.nanoTime() - start) / CALLS;
+        bytes = (allocatedBytes() - bytes) / CALLS;
+        log.info("findById sql {} calls by {}: {} ns/call, {} bytes/call", CALLS, name, nanos, bytes);
+        return new long[]{nanos, bytes};
+    }
+
+    private void build(SqlSource sqlSource, Object parameter, int calls) {
+        for (int i = 0; i < calls; i++) {
+            sink += sqlSource.getBoundSql(parameter).getSql().length();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * {@code IUserDao.findById2} as it was declared before {@link CachingLanguageDriver}, not registered as mapper.
+     */
+    interface UncachedUserDao {
+
+        @SelectProvider(type = UserDaoProvider.class, method = "findById")
+        User findById(Long id);
+    }
+
+}
@@ -0,0 +1,258 @@
+package tech.pdai.springboot.mysql57.mybatis.anno.service.impl;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.User;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql57.mybatis.anno.entity.response.ScrollResult;
+import tech.pdai.springboot.mysql57.mybatis.anno.service.IUserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link UserDoServiceImpl} on H2 in MySQL mode.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserDoServiceImplTest {
+
+    private static final String SELECT_USERS = "select user_name, password, email, phone_number, description"
+            + " from tb_user where user_name like ? order by id";
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void findListLoadsRolesInBatches() {
+        int rows = 1000;
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            users.add(new Object[]{i, "user_" + i, "pwd"});
+            userRoles.add(new Object[]{i, 1});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_user(id, user_name, password) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into tb_user_role(user_id, role_id) values (?, ?)", userRoles);
+
+        statementCounter.reset();
+        List<User> found = userService.findList(new UserQueryBean());
+
+        assertEquals(rows, found.size());
+        for (User user : found) {
+            assertEquals(1, user.getRoles().size());
+            assertEquals("admin", user.getRoles().get(0).getRoleKey());
+        }
+        // the users, then the roles of 500 users per statement, not one role statement per user
+        assertEquals(1 + rows / 500, statementCounter.get());
+    }
+
+    @Test
+    public void saveBatchStoresSameRowsAsSave() {
+        for (User user : users("single_", 3)) {
+            userService.save(user);
+        }
+        assertEquals(3, userService.saveBatch(users("batch_", 3)));
+
+        List<Map<String, Object>> single = jdbcTemplate.queryForList(SELECT_USERS, "single_%");
+        List<Map<String, Object>> batch = jdbcTemplate.queryForList(SELECT_USERS, "batch_%");
+        assertEquals(3, batch.size());
+        for (int i = 0; i < single.size(); i++) {
+            single.get(i).remove("USER_NAME");
+            batch.get(i).remove("USER_NAME");
+            assertEquals(single.get(i), batch.get(i));
+        }
+    }
+
+    @Test
+    public void saveBatchRequiresPassword() {
+        List<User> users = users("batch_", 2);
+        users.get(1).setPassword(null);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.saveBatch(users));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class));
+    }
+
+    @Test
+    public void saveBatchIsFasterThanSave() {
+        int rows = 5000;
+        // warm up jit of both before either is measured
+        users("warm_", 500).forEach(userService::save);
+        userService.saveBatch(users("warm_", 500));
+
+        long start = System.nanoTime();
+        for (User user : users("single_", rows)) {
+            userService.save(user);
+        }
+        long singleMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        start = System.nanoTime();
+        assertEquals(rows, userService.saveBatch(users("batch_", rows)));
+        long batchMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        assertEquals(rows, jdbcTemplate.queryForObject("select count(*) from tb_user where user_name like 'batch_%'",
+                Integer.class));
+        assertTrue(batchMillis < singleMillis, "saveBatch " + batchMillis + " ms, save " + singleMillis + " ms");
+        log.info("{} users by save: {} rows/sec, by saveBatch: {} rows/sec", rows, rows * 1000L / singleMillis,
+                rows * 1000L / batchMillis);
+    }
+
+    @Test
+    public void keysetPageAndExportOfMillionUsers() {
+        int rows = 1_000_000;
+        // generated ids, an explicit id updates the identity sequence of H2 row by row
+        for (int from = 0; from < rows; from += 10_000) {
+            // DATABASE_TO_LOWER does not apply to the column of system_range
+            jdbcTemplate.update("insert into tb_user(user_name, password) select concat('user_', \"X\"), 'pwd'"
+                    + " from system_range(" + from + ", " + (from + 9_999) + ")");
+        }
+
+        // a page deep in the table seeks by id like the first one, an offset page would skip all rows before it
+        UserQueryBean query = new UserQueryBean();
+        long lastId = jdbcTemplate.queryForObject("select max(id) from tb_user", Long.class);
+        String deepCursor = ScrollResult.encodeCursor(lastId - 1000);
+        pageNanos(query, null);
+        pageNanos(query, deepCursor);
+        long firstNanos = pageNanos(query, null);
+        long deepNanos = pageNanos(query, deepCursor);
+        assertTrue(deepNanos < firstNanos * 3, "deep page " + deepNanos + " ns, first page " + firstNanos + " ns");
+
+        // export holds one batch of users at a time, so the heap does not grow with the exported rows
+        long[] heap = new long[2];
+        int[] exported = new int[1];
+        long start = System.nanoTime();
+        userService.export(query, user -> {
+            if (++exported[0] == rows / 10) {
+                heap[0] = usedHeap();
+            }
+        });
+        long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        heap[1] = usedHeap();
+
+        assertEquals(rows, exported[0]);
+        assertTrue(heap[1] - heap[0] < 64L << 20, "heap grew by " + (heap[1] - heap[0]) + " bytes");
+        log.info("{} users: first page {} us, deep page {} us, export {} rows/sec, heap growth {} KB", rows,
+                firstNanos / 1000, deepNanos / 1000, rows * 1000L / millis, (heap[1] - heap[0]) >> 10);
+    }
+
+    /**
+     * @return median nanos of a page of 100 users after cursor
+     */
+    private long pageNanos(UserQueryBean query, String cursor) {
+        long[] nanos = new long[200];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            assertEquals(100, userService.findPageAfter(query, cursor, 100).getContent().size());
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2];
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * every third user has empty email, phone number and description, which save leaves to the column defaults.
+     */
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUserName(prefix + i);
+            user.setPassword("password_" + i);
+            if (i % 3 != 0) {
+                user.setEmail("user_" + i + "@pdai.tech");
+                user.setPhoneNumber(1_000_000 + i);
+                user.setDescription("user " + i);
+            } else {
+                user.setEmail("");
+                user.setDescription("");
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * counts the statements mybatis prepares.
+     */
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        public StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    static class StatementCounter implements Interceptor {
+
+        private final AtomicInteger statements = new AtomicInteger();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            statements.incrementAndGet();
+            return invocation.proceed();
+        }
+
+        @Override
+        public Object plugin(Object target) {
+            return Plugin.wrap(target, this);
+        }
+
+        @Override
+        public void setProperties(Properties properties) {
+        }
+
+        int get() {
+            return statements.get();
+        }
+
+        void reset() {
+            statements.set(0);
+        }
+    }
+
+}
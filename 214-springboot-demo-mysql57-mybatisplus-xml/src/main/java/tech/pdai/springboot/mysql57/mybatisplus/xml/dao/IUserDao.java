@@ -1,6 +1,8 @@
 package tech.pdai.springboot.mysql57.mybatisplus.xml.dao;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.mysql57.mybatisplus.xml.config.UseExecutor;
 import tech.pdai.springboot.mysql57.mybatisplus.xml.entity.User;
 import tech.pdai.springboot.mysql57.mybatisplus.xml.entity.query.UserQueryBean;
 
@@ -12,6 +14,13 @@ import java.util.List;
 @Mapper
 public interface IUserDao {
 
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
     List<User> findList(UserQueryBean userQueryBean);
 
     User findById(Long id);
@@ -0,0 +1,27 @@
+package tech.pdai.springboot.mysql57.druid.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.pdai.springboot.mysql57.druid.filter.SamplingStatFilter;
+
+/**
+ * druid filter config, the filter beans are added to druid data source by druid starter.
+ *
+ * @author pdai
+ */
+@Configuration
+public class DruidFilterConfig {
+
+    /**
+     * @param sampleRate    sample 1 of rate statements, 1 means all, 0 means none
+     * @param slowSqlMillis slow sql millis, slow statements are logged even if not sampled
+     * @return stat filter
+     */
+    @Bean
+    public SamplingStatFilter samplingStatFilter(@Value("${druid.sampling.stat-rate:1}") int sampleRate,
+                                                 @Value("${druid.sampling.slow-sql-millis:5000}") long slowSqlMillis) {
+        return new SamplingStatFilter(sampleRate, slowSqlMillis);
+    }
+
+}
@@ -0,0 +1,52 @@
+package tech.pdai.springboot.mysql57.druid.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.pdai.springboot.mysql57.druid.metrics.DruidAcquireTimerFilter;
+import tech.pdai.springboot.mysql57.druid.metrics.DruidDataSourceMetrics;
+import tech.pdai.springboot.mysql57.druid.metrics.DruidDataSourcePoolMetadata;
+
+/**
+ * druid metrics config, exposed by actuator /actuator/metrics.
+ *
+ * @author pdai
+ */
+@Configuration
+public class DruidMetricsConfig {
+
+    /**
+     * @return pool metadata provider, used by jdbc.connections.* metrics
+     */
+    @Bean
+    public DataSourcePoolMetadataProvider druidPoolMetadataProvider() {
+        return dataSource -> {
+            DruidDataSource druidDataSource = DataSourceUnwrapper.unwrap(dataSource, DruidDataSource.class);
+            return druidDataSource != null ? new DruidDataSourcePoolMetadata(druidDataSource) : null;
+        };
+    }
+
+    /**
+     * @param dataSource data source
+     * @return druid specific metrics
+     */
+    @Bean
+    public MeterBinder druidDataSourceMetrics(DruidDataSource dataSource) {
+        return new DruidDataSourceMetrics(dataSource);
+    }
+
+    /**
+     * @param meterRegistry meter registry
+     * @return acquire timer filter, added to druid data source by druid starter
+     */
+    @Bean
+    public DruidAcquireTimerFilter druidAcquireTimerFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DruidAcquireTimerFilter(meterRegistry);
+    }
+
+}
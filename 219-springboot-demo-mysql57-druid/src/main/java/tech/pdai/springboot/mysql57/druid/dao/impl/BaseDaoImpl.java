@@ -0,0 +1,134 @@
+package tech.pdai.springboot.mysql57.druid.dao.impl;
+
+import org.hibernate.Hibernate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.graph.GraphSemantic;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.mysql57.druid.constants.JpaConstants;
+import tech.pdai.springboot.mysql57.druid.dao.IBaseDao;
+import tech.pdai.springboot.mysql57.druid.entity.BaseEntity;
+
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * base dao implementation, registered as repository base class.
+ *
+ * @author pdai
+ */
+public class BaseDaoImpl<T extends BaseEntity, I extends Serializable>
+        extends SimpleJpaRepository<T, I> implements IBaseDao<T, I> {
+
+    /**
+     * entity manager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * jdbc batch size, entities are flushed and detached every batch.
+     */
+    private final int batchSize;
+
+    /**
+     * init.
+     *
+     * @param entityInformation entity information
+     * @param entityManager     entity manager
+     */
+    public BaseDaoImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        Object jdbcBatchSize = entityManager.getEntityManagerFactory().getProperties()
+                .get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        this.batchSize = jdbcBatchSize != null
+                ? Integer.parseInt(jdbcBatchSize.toString()) : JpaConstants.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * find by id, fetch associations in entity graph with one join query.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name, null means default fetch plan
+     * @return T
+     */
+    @Override
+    public Optional<T> findById(I id, String entityGraph) {
+        if (!StringUtils.hasText(entityGraph)) {
+            return findById(id);
+        }
+        Map<String, Object> hints = Collections.singletonMap(GraphSemantic.FETCH.getJpaHintName(),
+                entityManager.getEntityGraph(entityGraph));
+        return Optional.ofNullable(entityManager.find(getDomainClass(), id, hints));
+    }
+
+    /**
+     * find page, then initialize associations in entity graph. The page query itself
+     * is not fetch-joined (which would paginate in memory), associations are loaded
+     * by batched IN queries per {@link org.hibernate.annotations.BatchSize}.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name, null means default fetch plan
+     * @return Page
+     */
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph) {
+        Page<T> page = findAll(spec, pageable);
+        if (StringUtils.hasText(entityGraph)) {
+            initialize(page.getContent(), entityManager.getEntityGraph(entityGraph));
+        }
+        return page;
+    }
+
+    /**
+     * initialize attributes of entity graph, the first access loads the whole batch.
+     *
+     * @param entities    entities
+     * @param entityGraph entity graph
+     */
+    private void initialize(List<T> entities, EntityGraph<?> entityGraph) {
+        for (AttributeNode<?> attributeNode : entityGraph.getAttributeNodes()) {
+            for (T entity : entities) {
+                BeanWrapper beanWrapper = new BeanWrapperImpl(entity);
+                Hibernate.initialize(beanWrapper.getPropertyValue(attributeNode.getAttributeName()));
+            }
+        }
+    }
+
+    /**
+     * save in batch, flush and clear persistence context every batch size, so
+     * memory stays flat and inserts are sent as jdbc batches.
+     *
+     * @param entities entities
+     * @param <S>      entity type
+     */
+    @Override
+    @Transactional
+    public <S extends T> void saveInBatch(Iterable<S> entities) {
+        int count = 0;
+        for (S entity : entities) {
+            save(entity);
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+}
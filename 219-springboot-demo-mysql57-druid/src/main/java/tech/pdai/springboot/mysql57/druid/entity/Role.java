@@ -3,6 +3,10 @@ package tech.pdai.springboot.mysql57.druid.entity;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import tech.pdai.springboot.mysql57.druid.constants.JpaConstants;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -21,7 +25,12 @@ public class Role implements BaseEntity {
      * role id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = JpaConstants.ID_GENERATOR)
+    @GenericGenerator(name = JpaConstants.ID_GENERATOR, strategy = JpaConstants.ID_GENERATOR_CONFIG, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = JpaConstants.ID_GENERATOR_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "tb_role"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = JpaConstants.ID_GENERATOR_OPTIMIZER),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = JpaConstants.ID_GENERATOR_INCREMENT)})
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -0,0 +1,414 @@
+package tech.pdai.springboot.mysql57.druid.filter;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.filter.stat.StatFilter;
+import com.alibaba.druid.proxy.jdbc.CallableStatementProxy;
+import com.alibaba.druid.proxy.jdbc.PreparedStatementProxy;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * stat filter which collects sql stat for 1-in-N statements only. Statements which are not
+ * sampled are still timed, and logged if slower than slow sql millis.
+ *
+ * <p>Statement create and prepare are sampled on their own, the sql stat of a prepared statement
+ * is then created by its first sampled execution. Closing the statement, the result sets and the
+ * values read from them follow the sampling of the last execution. Connection and transaction
+ * hooks are not sampled, they run once per connection or transaction, not per statement.
+ *
+ * @author pdai
+ */
+@Slf4j
+public class SamplingStatFilter extends StatFilter {
+
+    /**
+     * statement attribute: sampled flag or start nano time while executing, sampled flag of the
+     * last execution afterwards. Result set attribute: present if sampled.
+     */
+    private static final String ATTR_SAMPLE = "sampling.stat";
+
+    /**
+     * sample 1 of rate statements, 1 means all, 0 means none.
+     */
+    private final int sampleRate;
+
+    /**
+     * init.
+     *
+     * @param sampleRate    sample 1 of rate statements
+     * @param slowSqlMillis slow sql millis
+     */
+    public SamplingStatFilter(int sampleRate, long slowSqlMillis) {
+        this.sampleRate = sampleRate;
+        setSlowSqlMillis(slowSqlMillis);
+        setLogSlowSql(true);
+    }
+
+    @Override
+    public void statementCreateAfter(StatementProxy statement) {
+        if (sample()) {
+            super.statementCreateAfter(statement);
+        }
+    }
+
+    @Override
+    public void statementPrepareAfter(PreparedStatementProxy statement) {
+        if (sample()) {
+            super.statementPrepareAfter(statement);
+        }
+    }
+
+    @Override
+    public void statementPrepareCallAfter(CallableStatementProxy statement) {
+        if (sample()) {
+            super.statementPrepareCallAfter(statement);
+        }
+    }
+
+    @Override
+    public void statement_close(FilterChain chain, StatementProxy statement) throws SQLException {
+        if (sampled(statement)) {
+            super.statement_close(chain, statement);
+        } else {
+            chain.statement_close(statement);
+        }
+    }
+
+    @Override
+    protected void statementExecuteBefore(StatementProxy statement, String sql) {
+        if (sample(statement)) {
+            super.statementExecuteBefore(statement, sql);
+        }
+    }
+
+    @Override
+    protected void statementExecuteAfter(StatementProxy statement, String sql, boolean firstResult) {
+        if (sampled(statement, sql)) {
+            super.statementExecuteAfter(statement, sql, firstResult);
+        }
+    }
+
+    @Override
+    protected void statementExecuteQueryBefore(StatementProxy statement, String sql) {
+        if (sample(statement)) {
+            super.statementExecuteQueryBefore(statement, sql);
+        }
+    }
+
+    @Override
+    protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+        if (sampled(statement, sql)) {
+            super.statementExecuteQueryAfter(statement, sql, resultSet);
+        }
+    }
+
+    @Override
+    protected void statementExecuteUpdateBefore(StatementProxy statement, String sql) {
+        if (sample(statement)) {
+            super.statementExecuteUpdateBefore(statement, sql);
+        }
+    }
+
+    @Override
+    protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+        if (sampled(statement, sql)) {
+            super.statementExecuteUpdateAfter(statement, sql, updateCount);
+        }
+    }
+
+    @Override
+    protected void statementExecuteBatchBefore(StatementProxy statement) {
+        if (sample(statement)) {
+            super.statementExecuteBatchBefore(statement);
+        }
+    }
+
+    @Override
+    protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+        if (sampled(statement, statement.getBatchSql())) {
+            super.statementExecuteBatchAfter(statement, result);
+        }
+    }
+
+    @Override
+    protected void statement_executeErrorAfter(StatementProxy statement, String sql, Throwable error) {
+        if (sampled(statement, sql)) {
+            super.statement_executeErrorAfter(statement, sql, error);
+        }
+    }
+
+    @Override
+    protected void resultSetOpenAfter(ResultSetProxy resultSet) {
+        if (sampled(resultSet.getStatementProxy())) {
+            resultSet.putAttribute(ATTR_SAMPLE, Boolean.TRUE);
+            super.resultSetOpenAfter(resultSet);
+        }
+    }
+
+    @Override
+    public void resultSet_close(FilterChain chain, ResultSetProxy resultSet) throws SQLException {
+        if (sampled(resultSet)) {
+            super.resultSet_close(chain, resultSet);
+        } else {
+            chain.resultSet_close(resultSet);
+        }
+    }
+
+    @Override
+    public Clob resultSet_getClob(FilterChain chain, ResultSetProxy resultSet, int columnIndex) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getClob(chain, resultSet, columnIndex)
+                : chain.resultSet_getClob(resultSet, columnIndex);
+    }
+
+    @Override
+    public Clob resultSet_getClob(FilterChain chain, ResultSetProxy resultSet, String columnLabel) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getClob(chain, resultSet, columnLabel)
+                : chain.resultSet_getClob(resultSet, columnLabel);
+    }
+
+    @Override
+    public Blob resultSet_getBlob(FilterChain chain, ResultSetProxy resultSet, int columnIndex) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBlob(chain, resultSet, columnIndex)
+                : chain.resultSet_getBlob(resultSet, columnIndex);
+    }
+
+    @Override
+    public Blob resultSet_getBlob(FilterChain chain, ResultSetProxy resultSet, String columnLabel) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBlob(chain, resultSet, columnLabel)
+                : chain.resultSet_getBlob(resultSet, columnLabel);
+    }
+
+    @Override
+    public Object resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, int columnIndex)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnIndex)
+                : chain.resultSet_getObject(resultSet, columnIndex);
+    }
+
+    @Override
+    public <T> T resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, int columnIndex, Class<T> type)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnIndex, type)
+                : chain.resultSet_getObject(resultSet, columnIndex, type);
+    }
+
+    @Override
+    public Object resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, int columnIndex,
+                                      Map<String, Class<?>> map) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnIndex, map)
+                : chain.resultSet_getObject(resultSet, columnIndex, map);
+    }
+
+    @Override
+    public Object resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnLabel)
+                : chain.resultSet_getObject(resultSet, columnLabel);
+    }
+
+    @Override
+    public <T> T resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, String columnLabel, Class<T> type)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnLabel, type)
+                : chain.resultSet_getObject(resultSet, columnLabel, type);
+    }
+
+    @Override
+    public Object resultSet_getObject(FilterChain chain, ResultSetProxy resultSet, String columnLabel,
+                                      Map<String, Class<?>> map) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getObject(chain, resultSet, columnLabel, map)
+                : chain.resultSet_getObject(resultSet, columnLabel, map);
+    }
+
+    @Override
+    public String resultSet_getString(FilterChain chain, ResultSetProxy resultSet, int columnIndex)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getString(chain, resultSet, columnIndex)
+                : chain.resultSet_getString(resultSet, columnIndex);
+    }
+
+    @Override
+    public String resultSet_getString(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getString(chain, resultSet, columnLabel)
+                : chain.resultSet_getString(resultSet, columnLabel);
+    }
+
+    @Override
+    public byte[] resultSet_getBytes(FilterChain chain, ResultSetProxy resultSet, int columnIndex) throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBytes(chain, resultSet, columnIndex)
+                : chain.resultSet_getBytes(resultSet, columnIndex);
+    }
+
+    @Override
+    public byte[] resultSet_getBytes(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBytes(chain, resultSet, columnLabel)
+                : chain.resultSet_getBytes(resultSet, columnLabel);
+    }
+
+    @Override
+    public InputStream resultSet_getBinaryStream(FilterChain chain, ResultSetProxy resultSet, int columnIndex)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBinaryStream(chain, resultSet, columnIndex)
+                : chain.resultSet_getBinaryStream(resultSet, columnIndex);
+    }
+
+    @Override
+    public InputStream resultSet_getBinaryStream(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getBinaryStream(chain, resultSet, columnLabel)
+                : chain.resultSet_getBinaryStream(resultSet, columnLabel);
+    }
+
+    @Override
+    public InputStream resultSet_getAsciiStream(FilterChain chain, ResultSetProxy resultSet, int columnIndex)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getAsciiStream(chain, resultSet, columnIndex)
+                : chain.resultSet_getAsciiStream(resultSet, columnIndex);
+    }
+
+    @Override
+    public InputStream resultSet_getAsciiStream(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getAsciiStream(chain, resultSet, columnLabel)
+                : chain.resultSet_getAsciiStream(resultSet, columnLabel);
+    }
+
+    @Override
+    public Reader resultSet_getCharacterStream(FilterChain chain, ResultSetProxy resultSet, int columnIndex)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getCharacterStream(chain, resultSet, columnIndex)
+                : chain.resultSet_getCharacterStream(resultSet, columnIndex);
+    }
+
+    @Override
+    public Reader resultSet_getCharacterStream(FilterChain chain, ResultSetProxy resultSet, String columnLabel)
+            throws SQLException {
+        return sampled(resultSet) ? super.resultSet_getCharacterStream(chain, resultSet, columnLabel)
+                : chain.resultSet_getCharacterStream(resultSet, columnLabel);
+    }
+
+    @Override
+    public Clob callableStatement_getClob(FilterChain chain, CallableStatementProxy statement, int parameterIndex)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getClob(chain, statement, parameterIndex)
+                : chain.callableStatement_getClob(statement, parameterIndex);
+    }
+
+    @Override
+    public Clob callableStatement_getClob(FilterChain chain, CallableStatementProxy statement, String parameterName)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getClob(chain, statement, parameterName)
+                : chain.callableStatement_getClob(statement, parameterName);
+    }
+
+    @Override
+    public Blob callableStatement_getBlob(FilterChain chain, CallableStatementProxy statement, int parameterIndex)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getBlob(chain, statement, parameterIndex)
+                : chain.callableStatement_getBlob(statement, parameterIndex);
+    }
+
+    @Override
+    public Blob callableStatement_getBlob(FilterChain chain, CallableStatementProxy statement, String parameterName)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getBlob(chain, statement, parameterName)
+                : chain.callableStatement_getBlob(statement, parameterName);
+    }
+
+    @Override
+    public Object callableStatement_getObject(FilterChain chain, CallableStatementProxy statement, int parameterIndex)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getObject(chain, statement, parameterIndex)
+                : chain.callableStatement_getObject(statement, parameterIndex);
+    }
+
+    @Override
+    public Object callableStatement_getObject(FilterChain chain, CallableStatementProxy statement, int parameterIndex,
+                                              Map<String, Class<?>> map) throws SQLException {
+        return sampled(statement) ? super.callableStatement_getObject(chain, statement, parameterIndex, map)
+                : chain.callableStatement_getObject(statement, parameterIndex, map);
+    }
+
+    @Override
+    public Object callableStatement_getObject(FilterChain chain, CallableStatementProxy statement, String parameterName)
+            throws SQLException {
+        return sampled(statement) ? super.callableStatement_getObject(chain, statement, parameterName)
+                : chain.callableStatement_getObject(statement, parameterName);
+    }
+
+    @Override
+    public Object callableStatement_getObject(FilterChain chain, CallableStatementProxy statement, String parameterName,
+                                              Map<String, Class<?>> map) throws SQLException {
+        return sampled(statement) ? super.callableStatement_getObject(chain, statement, parameterName, map)
+                : chain.callableStatement_getObject(statement, parameterName, map);
+    }
+
+    /**
+     * @return whether to sample
+     */
+    private boolean sample() {
+        return sampleRate == 1 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+    }
+
+    /**
+     * decide whether the statement execution is sampled.
+     *
+     * @param statement statement
+     * @return sampled
+     */
+    private boolean sample(StatementProxy statement) {
+        boolean sampled = sample();
+        statement.putAttribute(ATTR_SAMPLE, sampled ? Boolean.TRUE : (Object) System.nanoTime());
+        return sampled;
+    }
+
+    /**
+     * whether the statement execution was sampled, log it if not sampled but slow.
+     *
+     * @param statement statement
+     * @param sql       sql
+     * @return sampled
+     */
+    private boolean sampled(StatementProxy statement, String sql) {
+        Object sample = statement.getAttribute(ATTR_SAMPLE);
+        if (Boolean.TRUE.equals(sample)) {
+            return true;
+        }
+        statement.putAttribute(ATTR_SAMPLE, Boolean.FALSE);
+        if (sample instanceof Long) {
+            long millis = (System.nanoTime() - (Long) sample) / 1_000_000;
+            if (millis >= getSlowSqlMillis()) {
+                log.error("slow sql {} millis. {}", millis, sql);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param statement statement
+     * @return whether the last execution of statement was sampled
+     */
+    private static boolean sampled(StatementProxy statement) {
+        return Boolean.TRUE.equals(statement.getAttribute(ATTR_SAMPLE));
+    }
+
+    /**
+     * @param resultSet result set
+     * @return whether the execution which opened result set was sampled
+     */
+    private static boolean sampled(ResultSetProxy resultSet) {
+        return Boolean.TRUE.equals(resultSet.getAttribute(ATTR_SAMPLE));
+    }
+
+}
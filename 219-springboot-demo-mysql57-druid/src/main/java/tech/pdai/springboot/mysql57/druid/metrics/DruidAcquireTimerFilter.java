@@ -0,0 +1,81 @@
+package tech.pdai.springboot.mysql57.druid.metrics;
+
+import java.sql.SQLException;
+
+import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * druid filter which records time of getting connection from pool as druid.connections.acquire.
+ *
+ * <p>Registered once as a filter bean, the registry is resolved on first use since the data source
+ * is created before meter registry is ready.
+ *
+ * @author pdai
+ */
+public class DruidAcquireTimerFilter extends FilterAdapter {
+
+    /**
+     * meter registry.
+     */
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * acquire timer, null until first connection.
+     */
+    private volatile Timer acquireTimer;
+
+    /**
+     * init.
+     *
+     * @param meterRegistry meter registry
+     */
+    public DruidAcquireTimerFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param chain         chain
+     * @param dataSource    data source
+     * @param maxWaitMillis max wait millis
+     * @return connection
+     * @throws SQLException sql exception
+     */
+    @Override
+    public DruidPooledConnection dataSource_getConnection(FilterChain chain, DruidDataSource dataSource,
+                                                          long maxWaitMillis) throws SQLException {
+        Timer timer = acquireTimer(dataSource);
+        if (timer == null) {
+            return chain.dataSource_connect(dataSource, maxWaitMillis);
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            return chain.dataSource_connect(dataSource, maxWaitMillis);
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    private Timer acquireTimer(DruidDataSource dataSource) {
+        Timer timer = acquireTimer;
+        if (timer == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            // registering the same id again returns the existing timer
+            timer = Timer.builder("druid.connections.acquire")
+                    .tag("pool", dataSource.getName())
+                    .description("time to get a connection from pool")
+                    .register(registry);
+            acquireTimer = timer;
+        }
+        return timer;
+    }
+
+}
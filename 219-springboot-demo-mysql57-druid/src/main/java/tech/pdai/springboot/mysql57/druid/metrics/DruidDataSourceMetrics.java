@@ -0,0 +1,53 @@
+package tech.pdai.springboot.mysql57.druid.metrics;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * druid pool metrics which are not covered by jdbc.connections.*: pending threads, wait and
+ * prepared statement cache. Acquire latency is recorded by {@link DruidAcquireTimerFilter}.
+ *
+ * @author pdai
+ */
+public class DruidDataSourceMetrics implements MeterBinder {
+
+    /**
+     * data source.
+     */
+    private final DruidDataSource dataSource;
+
+    /**
+     * init.
+     *
+     * @param dataSource data source
+     */
+    public DruidDataSourceMetrics(DruidDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param registry registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("pool", dataSource.getName());
+        Gauge.builder("druid.connections.pending", dataSource, DruidDataSource::getWaitThreadCount)
+                .tags(tags).description("threads waiting for a connection").register(registry);
+        FunctionCounter.builder("druid.connections.wait", dataSource, DruidDataSource::getNotEmptyWaitCount)
+                .tags(tags).description("times a thread waited for a connection").register(registry);
+        FunctionCounter.builder("druid.connections.wait.time", dataSource, DruidDataSource::getNotEmptyWaitMillis)
+                .tags(tags).baseUnit("milliseconds").description("total time waited for a connection")
+                .register(registry);
+        FunctionCounter.builder("druid.statements.cache.hits", dataSource,
+                DruidDataSource::getCachedPreparedStatementHitCount)
+                .tags(tags).description("prepared statement cache hits").register(registry);
+        FunctionCounter.builder("druid.statements.cache.misses", dataSource,
+                DruidDataSource::getCachedPreparedStatementMissCount)
+                .tags(tags).description("prepared statement cache misses").register(registry);
+    }
+
+}
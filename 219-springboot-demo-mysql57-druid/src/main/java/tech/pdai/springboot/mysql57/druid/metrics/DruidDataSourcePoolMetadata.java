@@ -0,0 +1,70 @@
+package tech.pdai.springboot.mysql57.druid.metrics;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.springframework.boot.jdbc.metadata.AbstractDataSourcePoolMetadata;
+
+/**
+ * pool metadata of druid, so druid is exposed as jdbc.connections.* like other pools.
+ *
+ * @author pdai
+ */
+public class DruidDataSourcePoolMetadata extends AbstractDataSourcePoolMetadata<DruidDataSource> {
+
+    /**
+     * init.
+     *
+     * @param dataSource data source
+     */
+    public DruidDataSourcePoolMetadata(DruidDataSource dataSource) {
+        super(dataSource);
+    }
+
+    /**
+     * @return active connections
+     */
+    @Override
+    public Integer getActive() {
+        return getDataSource().getActiveCount();
+    }
+
+    /**
+     * @return idle connections
+     */
+    @Override
+    public Integer getIdle() {
+        return getDataSource().getPoolingCount();
+    }
+
+    /**
+     * @return max connections
+     */
+    @Override
+    public Integer getMax() {
+        return getDataSource().getMaxActive();
+    }
+
+    /**
+     * @return min connections
+     */
+    @Override
+    public Integer getMin() {
+        return getDataSource().getMinIdle();
+    }
+
+    /**
+     * @return validation query
+     */
+    @Override
+    public String getValidationQuery() {
+        return getDataSource().getValidationQuery();
+    }
+
+    /**
+     * @return default auto commit
+     */
+    @Override
+    public Boolean getDefaultAutoCommit() {
+        return getDataSource().isDefaultAutoCommit();
+    }
+
+}
@@ -0,0 +1,170 @@
+package tech.pdai.springboot.mysql57.druid.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql57.druid.entity.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * drives the {@link UserController} workload from concurrent threads against H2 in MySQL mode, and logs p50/p99
+ * latency and throughput per druid max active. H2 runs in the same process, so the numbers show pool
+ * contention, not network round trips.
+ *
+ * <p>The table generator fetches the next id block of add on a second connection, while the first is still held. So
+ * add joins the mix only with a pool of one connection more than threads, a smaller pool can run out of connections
+ * with every thread waiting for the generator.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserControllerLoadTest {
+
+    private static final int USERS = 1000;
+
+    /**
+     * seeded users start above the ids of the table generator, which add uses.
+     */
+    private static final int FIRST_ID = 1_000_000;
+
+    private static final int THREADS = 16;
+
+    private static final int REQUESTS_PER_THREAD = 500;
+
+    private static final int[] POOL_SIZES = {2, 4, 8, 16};
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private DruidDataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = FIRST_ID; i < FIRST_ID + USERS; i++) {
+            users.add(new Object[]{i, "user_" + i, "pwd", 0});
+            userRoles.add(new Object[]{i, 1});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_user(id, user_name, password, phone_number) values (?, ?, ?, ?)",
+                users);
+        jdbcTemplate.batchUpdate("insert into tb_user_role(user_id, role_id) values (?, ?)", userRoles);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void latencyPerPoolSize() throws Exception {
+        // warm up jit before any pool size is measured
+        run(POOL_SIZES[0], false);
+
+        // ascending, druid creates connections on demand but closes surplus idle ones only on eviction runs
+        for (int poolSize : POOL_SIZES) {
+            measure(poolSize, false);
+        }
+        measure(THREADS + 1, true);
+        assertTrue(meterRegistry.get("druid.connections.acquire").timer().count() > 0);
+        assertEquals(THREADS * REQUESTS_PER_THREAD / 50,
+                jdbcTemplate.queryForObject("select count(*) from tb_user where user_name like 'added%'", Long.class));
+    }
+
+    private void measure(int poolSize, boolean add) throws Exception {
+        long start = System.nanoTime();
+        long[] latencies = run(poolSize, add);
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(THREADS * REQUESTS_PER_THREAD, latencies.length);
+        assertEquals(poolSize, meterRegistry.get("jdbc.connections.max").gauge().value());
+        log.info("pool size {}, {} threads{}: p50 {} us, p99 {} us, {} requests/sec", poolSize, THREADS,
+                add ? " with add" : "", percentile(latencies, 0.5) / 1000, percentile(latencies, 0.99) / 1000,
+                latencies.length * 1_000_000_000L / nanos);
+    }
+
+    /**
+     * @return latency of every request in nanos, sorted
+     */
+    private long[] run(int poolSize, boolean add) throws Exception {
+        dataSource.setMaxActive(poolSize);
+        dataSource.setMinIdle(poolSize);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit((Callable<long[]>) () -> {
+                    start.await();
+                    long[] latencies = new long[REQUESTS_PER_THREAD];
+                    for (int j = 0; j < latencies.length; j++) {
+                        long requestStart = System.nanoTime();
+                        request(thread * REQUESTS_PER_THREAD + j, add);
+                        latencies[j] = System.nanoTime() - requestStart;
+                    }
+                    return latencies;
+                }));
+            }
+            start.countDown();
+
+            long[] latencies = new long[THREADS * REQUESTS_PER_THREAD];
+            for (int i = 0; i < THREADS; i++) {
+                System.arraycopy(futures.get(i).get(), 0, latencies, i * REQUESTS_PER_THREAD, REQUESTS_PER_THREAD);
+            }
+            Arrays.sort(latencies);
+            return latencies;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * mostly user detail views, every 10th request a page of the list and every 50th an added user if add.
+     */
+    private void request(int request, boolean add) {
+        if (add && request % 50 == 0) {
+            User user = new User();
+            user.setUserName("added_" + request);
+            user.setPassword("pwd");
+            userController.add(user);
+        } else if (request % 10 == 0) {
+            userController.list(20, request % USERS / 20);
+        } else {
+            userController.edit((long) FIRST_ID + request % USERS);
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+}
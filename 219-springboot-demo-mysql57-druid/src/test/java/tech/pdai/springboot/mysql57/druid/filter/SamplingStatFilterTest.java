@@ -0,0 +1,148 @@
+package tech.pdai.springboot.mysql57.druid.filter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import com.alibaba.druid.filter.Filter;
+import com.alibaba.druid.filter.stat.StatFilter;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.stat.JdbcDataSourceStat;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * overhead of the stat filter on H2 in MySQL mode, collecting every statement, 1 of {@link #SAMPLE_RATE} and none.
+ * Every query prepares, executes and reads a user row, so all statement and result set hooks run.
+ *
+ * @author pdai
+ */
+@Slf4j
+class SamplingStatFilterTest {
+
+    private static final String URL = "jdbc:h2:mem:stat_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String SELECT = "select id, user_name, password, email, description from tb_user where id = ?";
+
+    private static final int USERS = 100;
+
+    private static final int QUERIES = 200_000;
+
+    private static final int SAMPLE_RATE = 10;
+
+    @Test
+    public void sampledCollectsOneOfRateStatements() throws SQLException {
+        DruidDataSource off = dataSource(null);
+        try {
+            createUsers(off);
+            // warm up jit of all before any is measured, on data sources of their own, so stats start at 0
+            warmUp(new StatFilter());
+            warmUp(new SamplingStatFilter(SAMPLE_RATE, 5000));
+            query(off, QUERIES / 10);
+
+            DruidDataSource full = dataSource(new StatFilter());
+            DruidDataSource sampled = dataSource(new SamplingStatFilter(SAMPLE_RATE, 5000));
+            try {
+                long fullNanos = measure("all statements", full);
+                long sampledNanos = measure("1 of " + SAMPLE_RATE + " statements", sampled);
+                long offNanos = measure("no statements", off);
+
+                JdbcDataSourceStat fullStat = full.getDataSourceStat();
+                assertEquals(QUERIES, fullStat.getSqlStat(SELECT).getExecuteCount());
+                assertEquals(QUERIES, fullStat.getStatementStat().getPrepareCount());
+                assertEquals(QUERIES, fullStat.getResultSetStat().getOpenCount());
+
+                JdbcDataSourceStat sampledStat = sampled.getDataSourceStat();
+                assertSampled(sampledStat.getSqlStat(SELECT).getExecuteCount());
+                assertSampled(sampledStat.getSqlStat(SELECT).getFetchRowCount());
+                assertSampled(sampledStat.getStatementStat().getPrepareCount());
+                assertSampled(sampledStat.getStatementStat().getCloseCount());
+                assertSampled(sampledStat.getResultSetStat().getOpenCount());
+                assertEquals(sampledStat.getResultSetStat().getOpenCount(),
+                        sampledStat.getResultSetStat().getCloseCount());
+
+                assertTrue(sampledNanos < fullNanos, "sampled " + sampledNanos + " ns, all " + fullNanos + " ns");
+                log.info("stat overhead: all {} ns/query, sampled {} ns/query", fullNanos - offNanos,
+                        sampledNanos - offNanos);
+            } finally {
+                full.close();
+                sampled.close();
+            }
+        } finally {
+            off.close();
+        }
+    }
+
+    private static void warmUp(Filter filter) throws SQLException {
+        DruidDataSource dataSource = dataSource(filter);
+        try {
+            query(dataSource, QUERIES / 10);
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private static long measure(String name, DruidDataSource dataSource) throws SQLException {
+        long start = System.nanoTime();
+        query(dataSource, QUERIES);
+        long nanos = (System.nanoTime() - start) / QUERIES;
+        log.info("{} queries collecting {}: {} ns/query", QUERIES, name, nanos);
+        return nanos;
+    }
+
+    private static void query(DruidDataSource dataSource, int queries) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < queries; i++) {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                    statement.setLong(1, i % USERS + 1);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        assertTrue(resultSet.next());
+                        for (int column = 1; column <= 5; column++) {
+                            resultSet.getObject(column);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * a binomial count of QUERIES with p = 1 / SAMPLE_RATE is within 10% of its mean, the deviation is about 1%.
+     */
+    private static void assertSampled(long count) {
+        long mean = QUERIES / SAMPLE_RATE;
+        assertTrue(Math.abs(count - mean) < mean / 10, count + " not about " + mean);
+    }
+
+    private static void createUsers(DruidDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table tb_user (id int primary key, user_name varchar(45), password varchar(45),"
+                    + " email varchar(45), description varchar(255))");
+            // DATABASE_TO_LOWER does not apply to the column of system_range
+            statement.execute("insert into tb_user select \"X\", concat('user_', \"X\"), 'pwd',"
+                    + " concat('user_', \"X\", '@pdai.tech'), 'normal user' from system_range(1, " + USERS + ")");
+        }
+    }
+
+    /**
+     * without prepared statement cache, so every query runs the prepare hooks.
+     */
+    private static DruidDataSource dataSource(Filter filter) throws SQLException {
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        if (filter != null) {
+            dataSource.setProxyFilters(Collections.singletonList(filter));
+        }
+        dataSource.init();
+        return dataSource;
+    }
+
+}
@@ -2,14 +2,17 @@ package tech.pdai.springboot.mysql8.jpa.druid;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import tech.pdai.springboot.mysql8.jpa.druid.dao.impl.BaseDaoImpl;
 
 /**
  * @author pdai
  */
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = BaseDaoImpl.class)
 public class App {
 
     public static void main(String[] args) {
         SpringApplication.run(App.class, args);
     }
-}
\ No newline at end of file
+}
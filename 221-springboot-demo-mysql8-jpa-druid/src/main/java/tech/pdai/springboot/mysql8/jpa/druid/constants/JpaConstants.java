@@ -0,0 +1,46 @@
+package tech.pdai.springboot.mysql8.jpa.druid.constants;
+
+/**
+ * @author pdai
+ */
+public final class JpaConstants {
+
+    /**
+     * id generator.
+     */
+    public static final String ID_GENERATOR = "idGenerator";
+
+    /**
+     * table backed id generator class, ids are known before insert so jdbc batching stays on.
+     */
+    public static final String ID_GENERATOR_CONFIG = "org.hibernate.id.enhanced.TableGenerator";
+
+    /**
+     * id generator table.
+     */
+    public static final String ID_GENERATOR_TABLE = "tb_id_generator";
+
+    /**
+     * id generator optimizer, allocates a block of ids per table hit.
+     */
+    public static final String ID_GENERATOR_OPTIMIZER = "pooled-lo";
+
+    /**
+     * id block size.
+     */
+    public static final String ID_GENERATOR_INCREMENT = "100";
+
+    /**
+     * default jdbc batch size if hibernate.jdbc.batch_size is not set.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+
+
+    /**
+     * no instance.
+     */
+    private JpaConstants() {
+    }
+
+}
@@ -38,7 +38,7 @@ public class UserController {
             user.setUpdateTime(LocalDateTime.now());
             userService.update(user);
         }
-        return ResponseResult.success(userService.find(user.getId()));
+        return ResponseResult.success(userService.find(user.getId(), User.GRAPH_ROLES));
     }
 
 
@@ -48,7 +48,7 @@ public class UserController {
     @ApiOperation("Query User One")
     @GetMapping("edit/{userId}")
     public ResponseResult<User> edit(@PathVariable("userId") Long userId) {
-        return ResponseResult.success(userService.find(userId));
+        return ResponseResult.success(userService.find(userId, User.GRAPH_ROLES));
     }
 
     /**
@@ -3,6 +3,12 @@ package tech.pdai.springboot.mysql8.jpa.druid.entity;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import tech.pdai.springboot.mysql8.jpa.druid.constants.JpaConstants;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,13 +22,24 @@ import java.util.Set;
 @ToString
 @Entity
 @Table(name = "tb_user")
+@NamedEntityGraph(name = User.GRAPH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User implements BaseEntity {
 
+    /**
+     * entity graph which loads user with roles, used by detail view.
+     */
+    public static final String GRAPH_ROLES = "User.roles";
+
     /**
      * user id.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = JpaConstants.ID_GENERATOR)
+    @GenericGenerator(name = JpaConstants.ID_GENERATOR, strategy = JpaConstants.ID_GENERATOR_CONFIG, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = JpaConstants.ID_GENERATOR_TABLE),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "tb_user"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = JpaConstants.ID_GENERATOR_OPTIMIZER),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = JpaConstants.ID_GENERATOR_INCREMENT)})
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -62,9 +79,11 @@ public class User implements BaseEntity {
     private LocalDateTime updateTime;
 
     /**
-     * join to role table.
+     * join to role table, lazy by default and loaded in batches when a fetch plan asks for it.
      */
-    @ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @BatchSize(size = 500)
+    @ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
     @JoinTable(name = "tb_user_role", joinColumns = {
             @JoinColumn(name = "user_id")}, inverseJoinColumns = {@JoinColumn(name = "role_id")})
     private Set<Role> roles;
@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql8.jpa.hikari.config;
+
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * jackson config.
+ *
+ * @author pdai
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * write lazy associations which are not in fetch plan as null, instead of loading them.
+     *
+     * @return hibernate5 module
+     */
+    @Bean
+    public Hibernate5Module hibernate5Module() {
+        return new Hibernate5Module();
+    }
+
+}
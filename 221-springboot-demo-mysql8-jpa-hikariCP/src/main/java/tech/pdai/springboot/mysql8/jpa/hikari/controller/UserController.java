@@ -43,7 +43,7 @@ public class UserController {
             user.setUpdateTime(LocalDateTime.now());
             userService.update(user);
         }
-        return ResponseResult.success(userService.find(user.getId()));
+        return ResponseResult.success(userService.find(user.getId(), User.GRAPH_ROLES));
     }
 
 
@@ -53,7 +53,7 @@ public class UserController {
     @ApiOperation("Query User One")
     @GetMapping("edit/{userId}")
     public ResponseResult<User> edit(@PathVariable("userId") Long userId) {
-        return ResponseResult.success(userService.find(userId));
+        return ResponseResult.success(userService.find(userId, User.GRAPH_ROLES));
     }
 
     /**
@@ -1,7 +1,11 @@
 package tech.pdai.springboot.mysql8.jpa.hikari.dao;
 
 import java.io.Serializable;
+import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -13,4 +17,32 @@ import tech.pdai.springboot.mysql8.jpa.hikari.entity.BaseEntity;
 @NoRepositoryBean
 public interface IBaseDao<T extends BaseEntity, I extends Serializable>
         extends JpaRepository<T, I>, JpaSpecificationExecutor<T> {
+
+    /**
+     * find by id with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    Optional<T> findById(I id, String entityGraph);
+
+    /**
+     * find page with fetch plan.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph);
+
+    /**
+     * save in jdbc batches, entities are detached after save.
+     *
+     * @param entities entities
+     * @param <S>      entity type
+     */
+    <S extends T> void saveInBatch(Iterable<S> entities);
+
 }
@@ -38,6 +38,18 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
         return getBaseDao().findById(id).orElse(null);
     }
 
+    /**
+     * find by id with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    @Override
+    public T find(I id, String entityGraph) {
+        return getBaseDao().findById(id, entityGraph).orElse(null);
+    }
+
     /**
      * @return List
      */
@@ -142,13 +154,13 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
     }
 
     /**
-     * save.
+     * save in jdbc batches, entities are detached after save.
      *
      * @param entities entities
      */
     @Override
     public void save(List<T> entities) {
-        getBaseDao().saveAll(entities);
+        getBaseDao().saveInBatch(entities);
     }
 
     /**
@@ -240,6 +252,17 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
         return getBaseDao().findAll(spec, pageable);
     }
 
+    /**
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph) {
+        return getBaseDao().findAll(spec, pageable, entityGraph);
+    }
+
     /**
      * flush.
      */
@@ -47,12 +47,25 @@ public class UserDoServiceImpl extends BaseDoServiceImpl<User, Long> implements
      */
     @Override
     public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest) {
+        return findPage(queryBean, pageRequest, null);
+    }
+
+    /**
+     * find by page with fetch plan.
+     *
+     * @param queryBean   query
+     * @param pageRequest pageRequest
+     * @param entityGraph entity graph name
+     * @return page
+     */
+    @Override
+    public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest, String entityGraph) {
         Specification<User> specification = Specifications.<User>and()
                 .like(StringUtils.isNotEmpty(queryBean.getName()), "user_name", queryBean.getName())
                 .like(StringUtils.isNotEmpty(queryBean.getDescription()), "description",
                         queryBean.getDescription())
                 .build();
-        return this.getBaseDao().findAll(specification, pageRequest);
+        return this.getBaseDao().findAll(specification, pageRequest, entityGraph);
     }
 
 }
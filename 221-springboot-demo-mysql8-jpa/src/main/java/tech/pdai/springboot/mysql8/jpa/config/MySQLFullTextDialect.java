@@ -0,0 +1,28 @@
+package tech.pdai.springboot.mysql8.jpa.config;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * mysql dialect with fulltext match function.
+ *
+ * @author pdai
+ */
+public class MySQLFullTextDialect extends MySQLDialect {
+
+    /**
+     * match function name, used in criteria by {@code cb.function(MATCH_FUNCTION, ...)}.
+     */
+    public static final String MATCH_FUNCTION = "match_against";
+
+    /**
+     * init.
+     */
+    public MySQLFullTextDialect() {
+        super();
+        registerFunction(MATCH_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+                "match(?1) against (?2 in boolean mode)"));
+    }
+
+}
@@ -0,0 +1,69 @@
+package tech.pdai.springboot.mysql8.jpa.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * read replica config, enabled if spring.datasource.replica.url is set.
+ *
+ * @author pdai
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * @return primary data source properties
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * @return replica data source properties
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * routing data source, wrapped in lazy proxy so the physical connection is taken
+     * after the transaction is marked read-only.
+     *
+     * @param primaryProperties primary data source properties
+     * @param replicaProperties replica data source properties
+     * @return data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties primaryProperties,
+                                 @Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties) {
+        DataSource primary = primaryProperties.initializeDataSourceBuilder().build();
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(ReadOnlyRoutingDataSource.PRIMARY, primary);
+        targetDataSources.put(ReadOnlyRoutingDataSource.REPLICA,
+                replicaProperties.initializeDataSourceBuilder().build());
+        ReadOnlyRoutingDataSource routingDataSource = new ReadOnlyRoutingDataSource();
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
@@ -1,17 +1,25 @@
 package tech.pdai.springboot.mysql8.jpa.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import tech.pdai.springboot.mysql8.jpa.entity.User;
 import tech.pdai.springboot.mysql8.jpa.entity.query.UserQueryBean;
 import tech.pdai.springboot.mysql8.jpa.entity.response.ResponseResult;
+import tech.pdai.springboot.mysql8.jpa.entity.response.ScrollResult;
+import tech.pdai.springboot.mysql8.jpa.entity.view.UserListView;
 import tech.pdai.springboot.mysql8.jpa.service.IUserService;
 
-import java.time.LocalDateTime;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 /**
  * @author pdai
@@ -23,6 +31,9 @@ public class UserController {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * @param user user param
      * @return user
@@ -30,15 +41,7 @@ public class UserController {
     @ApiOperation("Add/Edit User")
     @PostMapping("add")
     public ResponseResult<User> add(User user) {
-        if (user.getId()==null || !userService.exists(user.getId())) {
-            user.setCreateTime(LocalDateTime.now());
-            user.setUpdateTime(LocalDateTime.now());
-            userService.save(user);
-        } else {
-            user.setUpdateTime(LocalDateTime.now());
-            userService.update(user);
-        }
-        return ResponseResult.success(userService.find(user.getId()));
+        return ResponseResult.success(userService.saveOrUpdate(user));
     }
 
 
@@ -48,7 +51,7 @@ public class UserController {
     @ApiOperation("Query User One")
     @GetMapping("edit/{userId}")
     public ResponseResult<User> edit(@PathVariable("userId") Long userId) {
-        return ResponseResult.success(userService.find(userId));
+        return ResponseResult.success(userService.find(userId, User.GRAPH_ROLES));
     }
 
     /**
@@ -56,7 +59,54 @@ public class UserController {
      */
     @ApiOperation("Query User Page")
     @GetMapping("list")
-    public ResponseResult<Page<User>> list(@RequestParam int pageSize, @RequestParam int pageNumber) {
-        return ResponseResult.success(userService.findPage(UserQueryBean.builder().build(), PageRequest.of(pageNumber, pageSize)));
+    public ResponseResult<Page<UserListView>> list(@RequestParam int pageSize, @RequestParam int pageNumber) {
+        return ResponseResult.success(userService.findPage(UserQueryBean.builder().build(), PageRequest.of(pageNumber, pageSize), UserListView.class));
+    }
+
+    /**
+     * @param pageSize page size, 1 ~ {@link tech.pdai.springboot.mysql8.jpa.constants.JpaConstants#MAX_SLICE_SIZE}
+     * @param cursor   cursor returned by previous call, empty for first page
+     * @return user slice
+     */
+    @ApiOperation("Scroll User By Cursor")
+    @GetMapping("scroll")
+    public ResponseResult<ScrollResult<UserListView>> scroll(@RequestParam(defaultValue = "10") int pageSize,
+                                                             @RequestParam(required = false) String cursor) {
+        Slice<UserListView> slice = userService.findAfter(UserQueryBean.builder().build(),
+                ScrollResult.decodeCursor(cursor), pageSize, UserListView.class);
+        String nextCursor = slice.hasNext()
+                ? ScrollResult.encodeCursor(slice.getContent().get(slice.getNumberOfElements() - 1).getId()) : null;
+        return ResponseResult.success(ScrollResult.<UserListView>builder()
+                .content(slice.getContent())
+                .nextCursor(nextCursor)
+                .hasNext(slice.hasNext())
+                .build());
+    }
+
+    /**
+     * export users as newline delimited json, rows are streamed from db cursor to response.
+     * Only the columns of {@link UserListView} are read, so password is never exported.
+     *
+     * @param response response
+     * @throws IOException io exception
+     */
+    @ApiOperation("Export User")
+    @GetMapping("export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            userService.forEach(UserQueryBean.builder().build(), UserListView.class, user -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(user));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
     }
 }
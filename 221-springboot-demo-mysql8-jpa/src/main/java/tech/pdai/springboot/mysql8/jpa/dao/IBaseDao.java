@@ -1,11 +1,18 @@
 package tech.pdai.springboot.mysql8.jpa.dao;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 import tech.pdai.springboot.mysql8.jpa.entity.BaseEntity;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author pdai
@@ -13,4 +20,94 @@ import java.io.Serializable;
 @NoRepositoryBean
 public interface IBaseDao<T extends BaseEntity, I extends Serializable>
         extends JpaRepository<T, I>, JpaSpecificationExecutor<T> {
+
+    /**
+     * find by id with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    Optional<T> findById(I id, String entityGraph);
+
+    /**
+     * find page with fetch plan.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph);
+
+    /**
+     * find page of interface projection, only the projected columns are selected.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param pageable   pageable
+     * @param <P>        projection type
+     * @return Page
+     */
+    <P> Page<P> findAllProjectedBy(Class<P> projection, Specification<T> spec, Pageable pageable);
+
+    /**
+     * find slice after the given id, keyset pagination without count query.
+     *
+     * @param lastId last id of previous slice, null means first slice
+     * @param size   size
+     * @param spec   spec
+     * @return Slice
+     */
+    Slice<T> findAfter(I lastId, int size, Specification<T> spec);
+
+    /**
+     * find slice of interface projection after the given id, keyset pagination without count query.
+     *
+     * @param projection projection interface, must expose the id
+     * @param lastId     last id of previous slice, null means first slice
+     * @param size       size
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Slice
+     */
+    <P> Slice<P> findAfterProjectedBy(Class<P> projection, I lastId, int size, Specification<T> spec);
+
+    /**
+     * stream by forward-only cursor, must be called in a transaction and closed by caller.
+     *
+     * @param spec spec
+     * @return Stream
+     */
+    Stream<T> streamAll(Specification<T> spec);
+
+    /**
+     * stream interface projection by forward-only cursor, only the projected columns are selected.
+     * Must be called in a transaction and closed by caller.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Stream
+     */
+    <P> Stream<P> streamAllProjectedBy(Class<P> projection, Specification<T> spec);
+
+    /**
+     * bulk update by specification. the spec is called with a null criteria query, so it may only
+     * build predicates from root and builder, no subquery, fetch or distinct.
+     *
+     * @param spec   spec
+     * @param values attribute name -> new value
+     * @return updated rows
+     */
+    int updateWhere(Specification<T> spec, Map<String, Object> values);
+
+    /**
+     * save in jdbc batches, entities are detached after save.
+     *
+     * @param entities entities
+     * @param <S>      entity type
+     */
+    <S extends T> void saveInBatch(Iterable<S> entities);
+
 }
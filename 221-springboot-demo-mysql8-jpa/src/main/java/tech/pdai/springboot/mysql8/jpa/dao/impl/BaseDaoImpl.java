@@ -0,0 +1,433 @@
+package tech.pdai.springboot.mysql8.jpa.dao.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.AttributeNode;
+import javax.persistence.Cacheable;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.graph.GraphSemantic;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.mysql8.jpa.constants.JpaConstants;
+import tech.pdai.springboot.mysql8.jpa.dao.IBaseDao;
+import tech.pdai.springboot.mysql8.jpa.entity.BaseEntity;
+
+/**
+ * base dao implementation, registered as repository base class.
+ *
+ * @author pdai
+ */
+public class BaseDaoImpl<T extends BaseEntity, I extends Serializable>
+        extends SimpleJpaRepository<T, I> implements IBaseDao<T, I> {
+
+    /**
+     * entity information.
+     */
+    private final JpaEntityInformation<T, ?> entityInformation;
+
+    /**
+     * entity manager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * whether entity is in second level cache, if so specification queries go to query cache.
+     */
+    private final boolean queryCacheable;
+
+    /**
+     * projection factory, reads the input properties of projection interface.
+     */
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    /**
+     * jdbc batch size, entities are flushed and detached every batch.
+     */
+    private final int batchSize;
+
+    /**
+     * jdbc fetch size of streaming query.
+     */
+    private final int streamFetchSize;
+
+    /**
+     * init.
+     *
+     * @param entityInformation entity information
+     * @param entityManager     entity manager
+     */
+    public BaseDaoImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+        this.queryCacheable = entityInformation.getJavaType().isAnnotationPresent(Cacheable.class);
+        Object jdbcBatchSize = entityManager.getEntityManagerFactory().getProperties()
+                .get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        this.batchSize = jdbcBatchSize != null
+                ? Integer.parseInt(jdbcBatchSize.toString()) : JpaConstants.DEFAULT_BATCH_SIZE;
+        Object jdbcStreamFetchSize = entityManager.getEntityManagerFactory().getProperties()
+                .get(JpaConstants.STREAM_FETCH_SIZE_PROPERTY);
+        this.streamFetchSize = jdbcStreamFetchSize != null
+                ? Integer.parseInt(jdbcStreamFetchSize.toString()) : JpaConstants.DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * find list, cached in query cache if entity is cacheable. Query cache entries
+     * are invalidated by hibernate on any write to the table.
+     *
+     * @param spec spec
+     * @return List
+     */
+    @Override
+    public List<T> findAll(Specification<T> spec) {
+        return findAll(spec, Sort.unsorted());
+    }
+
+    /**
+     * find list, cached in query cache if entity is cacheable.
+     *
+     * @param spec spec
+     * @param sort sort
+     * @return List
+     */
+    @Override
+    public List<T> findAll(Specification<T> spec, Sort sort) {
+        TypedQuery<T> query = getQuery(spec, sort);
+        if (queryCacheable) {
+            query.setHint(QueryHints.CACHEABLE, true);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * find page of interface projection, only columns of projection properties are selected
+     * and the rows are not managed, so no entity snapshot is kept for dirty checking.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param pageable   pageable
+     * @param <P>        projection type
+     * @return Page
+     */
+    @Override
+    public <P> Page<P> findAllProjectedBy(Class<P> projection, Specification<T> spec, Pageable pageable) {
+        TypedQuery<Tuple> typedQuery = getProjectedQuery(projection, spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<P> content = typedQuery.getResultList().stream()
+                .map(tuple -> toProjection(projection, tuple))
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    /**
+     * stream by forward-only cursor, each entity is detached before handed out so
+     * the persistence context does not grow. Must be called in a transaction and
+     * the stream must be closed by caller.
+     *
+     * @param spec spec
+     * @return Stream
+     */
+    @Override
+    public Stream<T> streamAll(Specification<T> spec) {
+        TypedQuery<T> query = getQuery(spec, Sort.unsorted());
+        query.setHint(QueryHints.FETCH_SIZE, streamFetchSize);
+        query.setHint(QueryHints.READ_ONLY, true);
+        return query.getResultStream().peek(entityManager::detach);
+    }
+
+    /**
+     * stream interface projection by forward-only cursor, rows are not managed so the
+     * persistence context does not grow. Must be called in a transaction and the stream
+     * must be closed by caller.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Stream
+     */
+    @Override
+    public <P> Stream<P> streamAllProjectedBy(Class<P> projection, Specification<T> spec) {
+        TypedQuery<Tuple> query = getProjectedQuery(projection, spec, Sort.unsorted());
+        query.setHint(QueryHints.FETCH_SIZE, streamFetchSize);
+        return query.getResultStream().map(tuple -> toProjection(projection, tuple));
+    }
+
+    /**
+     * find by id, fetch associations in entity graph with one join query.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name, null means default fetch plan
+     * @return T
+     */
+    @Override
+    public Optional<T> findById(I id, String entityGraph) {
+        if (!StringUtils.hasText(entityGraph)) {
+            return findById(id);
+        }
+        Map<String, Object> hints = Collections.singletonMap(GraphSemantic.FETCH.getJpaHintName(),
+                entityManager.getEntityGraph(entityGraph));
+        return Optional.ofNullable(entityManager.find(getDomainClass(), id, hints));
+    }
+
+    /**
+     * find page, then initialize associations in entity graph. The page query itself
+     * is not fetch-joined (which would paginate in memory), associations are loaded
+     * by batched IN queries per {@link org.hibernate.annotations.BatchSize}.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name, null means default fetch plan
+     * @return Page
+     */
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph) {
+        Page<T> page = findAll(spec, pageable);
+        if (StringUtils.hasText(entityGraph)) {
+            initialize(page.getContent(), entityManager.getEntityGraph(entityGraph));
+        }
+        return page;
+    }
+
+    /**
+     * find slice after the given id (keyset pagination), seeks on primary key by
+     * {@code id > lastId order by id limit size + 1}, no offset scan and no count query.
+     *
+     * @param lastId last id of previous slice, null means first slice
+     * @param size   size
+     * @param spec   spec
+     * @return Slice
+     */
+    @Override
+    public Slice<T> findAfter(I lastId, int size, Specification<T> spec) {
+        Sort sort = Sort.by(entityInformation.getIdAttribute().getName());
+        TypedQuery<T> query = getQuery(Specification.where(spec).and(seekAfter(lastId)), sort);
+        return toSlice(query.setMaxResults(size + 1).getResultList(), size, sort);
+    }
+
+    /**
+     * find slice of interface projection after the given id, same seek as {@link #findAfter},
+     * only the columns of projection properties are selected.
+     *
+     * @param projection projection interface, must expose the id
+     * @param lastId     last id of previous slice, null means first slice
+     * @param size       size
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Slice
+     */
+    @Override
+    public <P> Slice<P> findAfterProjectedBy(Class<P> projection, I lastId, int size, Specification<T> spec) {
+        Sort sort = Sort.by(entityInformation.getIdAttribute().getName());
+        TypedQuery<Tuple> query = getProjectedQuery(projection, Specification.where(spec).and(seekAfter(lastId)),
+                sort);
+        List<P> content = query.setMaxResults(size + 1).getResultList().stream()
+                .map(tuple -> toProjection(projection, tuple))
+                .collect(Collectors.toList());
+        return toSlice(content, size, sort);
+    }
+
+    /**
+     * save in batch, flush and clear persistence context every batch size, so
+     * memory stays flat and inserts are sent as jdbc batches.
+     *
+     * @param entities entities
+     * @param <S>      entity type
+     */
+    @Override
+    @Transactional
+    public <S extends T> void saveInBatch(Iterable<S> entities) {
+        int count = 0;
+        for (S entity : entities) {
+            save(entity);
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * delete by ids with chunked {@code delete ... where id in (...)}, hibernate deletes the rows
+     * of owned join tables first. No entity is loaded and no cascade is fired.
+     *
+     * @param ids ids
+     */
+    @Override
+    @Transactional
+    public void deleteAllByIdInBatch(Iterable<I> ids) {
+        List<I> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        if (idList.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        String jpql = String.format("delete from %s x where x.%s in :ids", entityInformation.getEntityName(),
+                entityInformation.getIdAttribute().getName());
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            List<I> chunk = idList.subList(from, Math.min(from + batchSize, idList.size()));
+            entityManager.createQuery(jpql).setParameter("ids", chunk).executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * delete all with one {@code delete} per table, hibernate deletes the rows of owned join tables first.
+     */
+    @Override
+    @Transactional
+    public void deleteAllInBatch() {
+        entityManager.flush();
+        super.deleteAllInBatch();
+        entityManager.clear();
+    }
+
+    /**
+     * bulk update by criteria, {@code update ... set ... where spec}. The specification
+     * is called with a null criteria query, as there is none for an update, so a spec which
+     * uses it fails with a NullPointerException. It is not moved into an id subquery either,
+     * mysql rejects a subquery on the updated table.
+     *
+     * @param spec   spec
+     * @param values attribute name -> new value
+     * @return updated rows
+     */
+    @Override
+    @Transactional
+    public int updateWhere(Specification<T> spec, Map<String, Object> values) {
+        entityManager.flush();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(getDomainClass());
+        Root<T> root = update.from(getDomainClass());
+        values.forEach(update::set);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, null, cb);
+        if (predicate != null) {
+            update.where(predicate);
+        }
+        int rows = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return rows;
+    }
+
+    /**
+     * create tuple query selecting only the columns of projection properties.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param sort       sort
+     * @return query
+     */
+    private TypedQuery<Tuple> getProjectedQuery(Class<?> projection, Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        List<Selection<?>> selections = projectionFactory.getProjectionInformation(projection)
+                .getInputProperties().stream()
+                .map(property -> root.get(property.getName()).alias(property.getName()))
+                .collect(Collectors.toList());
+        query.multiselect(selections);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * create projection backed by tuple.
+     *
+     * @param projection projection interface
+     * @param tuple      tuple
+     * @param <P>        projection type
+     * @return projection
+     */
+    private static <P> P toProjection(Class<P> projection, Tuple tuple) {
+        return TupleProjectionHandler.create(projection, tuple);
+    }
+
+    /**
+     * @param lastId last id of previous slice, null means first slice
+     * @return {@code id > lastId}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<T> seekAfter(I lastId) {
+        String idAttribute = entityInformation.getIdAttribute().getName();
+        return (root, query, cb) -> lastId == null
+                ? null : cb.greaterThan(root.<Comparable>get(idAttribute), (Comparable) lastId);
+    }
+
+    /**
+     * cut the extra row fetched to tell whether there is a next slice.
+     *
+     * @param content rows, at most size + 1
+     * @param size    size
+     * @param sort    sort
+     * @param <R>     row type
+     * @return Slice
+     */
+    private static <R> Slice<R> toSlice(List<R> content, int size, Sort sort) {
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = new ArrayList<>(content.subList(0, size));
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * initialize attributes of entity graph, the first access loads the whole batch.
+     *
+     * @param entities    entities
+     * @param entityGraph entity graph
+     */
+    private void initialize(List<T> entities, EntityGraph<?> entityGraph) {
+        for (AttributeNode<?> attributeNode : entityGraph.getAttributeNodes()) {
+            for (T entity : entities) {
+                BeanWrapper beanWrapper = new BeanWrapperImpl(entity);
+                Hibernate.initialize(beanWrapper.getPropertyValue(attributeNode.getAttributeName()));
+            }
+        }
+    }
+
+}
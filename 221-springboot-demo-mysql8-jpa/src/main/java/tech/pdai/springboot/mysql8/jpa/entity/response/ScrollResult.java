@@ -0,0 +1,64 @@
+package tech.pdai.springboot.mysql8.jpa.entity.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+import tech.pdai.springboot.mysql8.jpa.exception.InvalidCursorException;
+
+/**
+ * keyset pagination result, the cursor is opaque to client.
+ *
+ * @author pdai
+ */
+@Data
+@Builder
+public class ScrollResult<T> {
+
+    /**
+     * content of current slice.
+     */
+    private List<T> content;
+
+    /**
+     * cursor of next slice, null if no more data.
+     */
+    private String nextCursor;
+
+    /**
+     * has next slice.
+     */
+    private boolean hasNext;
+
+    /**
+     * encode last id to cursor.
+     *
+     * @param lastId last id
+     * @return cursor
+     */
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * decode cursor to last id.
+     *
+     * @param cursor cursor, empty means first slice
+     * @return last id
+     * @throws InvalidCursorException if cursor is not one returned by {@link #encodeCursor(Long)}
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+
+}
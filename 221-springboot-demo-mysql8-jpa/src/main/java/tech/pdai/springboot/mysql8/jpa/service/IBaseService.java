@@ -2,11 +2,14 @@ package tech.pdai.springboot.mysql8.jpa.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author pdai
@@ -19,6 +22,15 @@ public interface IBaseService<T, I extends Serializable> {
      */
     T find(I id);
 
+    /**
+     * find with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    T find(I id, String entityGraph);
+
     /**
      * @return List
      */
@@ -49,6 +61,49 @@ public interface IBaseService<T, I extends Serializable> {
      */
     Page<T> findAll(Specification<T> spec, Pageable pageable);
 
+    /**
+     * find page with fetch plan.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph);
+
+    /**
+     * find page of interface projection, only the projected columns are selected.
+     *
+     * @param projection projection interface
+     * @param spec       spec
+     * @param pageable   pageable
+     * @param <P>        projection type
+     * @return Page
+     */
+    <P> Page<P> findAllProjectedBy(Class<P> projection, Specification<T> spec, Pageable pageable);
+
+    /**
+     * find slice after the given id, keyset pagination without count query.
+     *
+     * @param lastId last id of previous slice, null means first slice
+     * @param size   size
+     * @param spec   spec
+     * @return Slice
+     */
+    Slice<T> findAfter(I lastId, int size, Specification<T> spec);
+
+    /**
+     * find slice of interface projection after the given id, keyset pagination without count query.
+     *
+     * @param projection projection interface, must expose the id
+     * @param lastId     last id of previous slice, null means first slice
+     * @param size       size
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Slice
+     */
+    <P> Slice<P> findAfterProjectedBy(Class<P> projection, I lastId, int size, Specification<T> spec);
+
     /**
      * @param spec spec
      * @return T
@@ -100,6 +155,23 @@ public interface IBaseService<T, I extends Serializable> {
      */
     T update(T entity);
 
+    /**
+     * save or update in one transaction.
+     *
+     * @param entity entity
+     * @return managed entity
+     */
+    T saveOrUpdate(T entity);
+
+    /**
+     * bulk update by specification, the spec is called with a null criteria query.
+     *
+     * @param spec   spec
+     * @param values attribute name -> new value
+     * @return updated rows
+     */
+    int updateWhere(Specification<T> spec, Map<String, Object> values);
+
     /**
      * delete.
      *
@@ -157,6 +229,14 @@ public interface IBaseService<T, I extends Serializable> {
      */
     List<T> findList(Specification<T> spec, Sort sort);
 
+    /**
+     * stream list, must be called in a transaction and closed by caller.
+     *
+     * @param spec spec
+     * @return Stream
+     */
+    Stream<T> streamAll(Specification<T> spec);
+
 
     /**
      * flush.
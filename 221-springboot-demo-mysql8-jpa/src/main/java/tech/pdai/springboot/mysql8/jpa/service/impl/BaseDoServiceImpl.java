@@ -3,18 +3,25 @@ package tech.pdai.springboot.mysql8.jpa.service.impl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import tech.pdai.springboot.mysql8.jpa.constants.JpaConstants;
 import tech.pdai.springboot.mysql8.jpa.dao.IBaseDao;
 import tech.pdai.springboot.mysql8.jpa.entity.BaseEntity;
 import tech.pdai.springboot.mysql8.jpa.service.IBaseService;
 
-import javax.transaction.Transactional;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
+ * write methods run in read-write transactions, query methods in read-only transactions
+ * (flush mode manual, read-only session, routed to replica if configured).
+ *
  * @author pdai
  */
 @Slf4j
@@ -33,14 +40,29 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return T
      */
     @Override
+    @Transactional(readOnly = true)
     public T find(I id) {
         return getBaseDao().findById(id).orElse(null);
     }
 
+    /**
+     * find by id with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public T find(I id, String entityGraph) {
+        return getBaseDao().findById(id, entityGraph).orElse(null);
+    }
+
     /**
      * @return List
      */
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAll() {
         return getBaseDao().findAll();
     }
@@ -50,6 +72,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return List
      */
     @Override
+    @Transactional(readOnly = true)
     public List<T> findList(I[] ids) {
         List<I> idList = Arrays.asList(ids);
         return getBaseDao().findAllById(idList);
@@ -62,6 +85,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return list
      */
     @Override
+    @Transactional(readOnly = true)
     public List<T> findList(Specification<T> spec) {
         return getBaseDao().findAll(spec);
     }
@@ -74,10 +98,23 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return List
      */
     @Override
+    @Transactional(readOnly = true)
     public List<T> findList(Specification<T> spec, Sort sort) {
         return getBaseDao().findAll(spec, sort);
     }
 
+    /**
+     * stream list.
+     *
+     * @param spec spec
+     * @return Stream
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<T> streamAll(Specification<T> spec) {
+        return getBaseDao().streamAll(spec);
+    }
+
     /**
      * find one.
      *
@@ -85,6 +122,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return T
      */
     @Override
+    @Transactional(readOnly = true)
     public T findOne(Specification<T> spec) {
         return getBaseDao().findOne(spec).orElse(null);
     }
@@ -94,6 +132,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return Page
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<T> findAll(Pageable pageable) {
         return getBaseDao().findAll(pageable);
     }
@@ -104,6 +143,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return long
      */
     @Override
+    @Transactional(readOnly = true)
     public long count() {
         return getBaseDao().count();
     }
@@ -115,6 +155,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return long
      */
     @Override
+    @Transactional(readOnly = true)
     public long count(Specification<T> spec) {
         return getBaseDao().count(spec);
     }
@@ -126,6 +167,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return boolean
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean exists(I id) {
         return getBaseDao().findById(id).isPresent();
     }
@@ -141,13 +183,13 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
     }
 
     /**
-     * save.
+     * save in jdbc batches, entities are detached after save.
      *
      * @param entities entities
      */
     @Override
     public void save(List<T> entities) {
-        getBaseDao().saveAll(entities);
+        getBaseDao().saveInBatch(entities);
     }
 
     /**
@@ -161,6 +203,30 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
         return getBaseDao().saveAndFlush(entity);
     }
 
+    /**
+     * save or update in one transaction: new entity is persisted, otherwise merged
+     * (one select by id, then insert or update on flush).
+     *
+     * @param entity entity
+     * @return managed entity
+     */
+    @Override
+    public T saveOrUpdate(T entity) {
+        return getBaseDao().save(entity);
+    }
+
+    /**
+     * bulk update by specification.
+     *
+     * @param spec   spec
+     * @param values attribute name -> new value
+     * @return updated rows
+     */
+    @Override
+    public int updateWhere(Specification<T> spec, Map<String, Object> values) {
+        return getBaseDao().updateWhere(spec, values);
+    }
+
     /**
      * delete.
      *
@@ -172,13 +238,13 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
     }
 
     /**
-     * delete by ids.
+     * delete by ids in chunked bulk deletes.
      *
      * @param ids ids
      */
     @Override
     public void deleteByIds(List<I> ids) {
-        getBaseDao().deleteAllById(ids);
+        getBaseDao().deleteAllByIdInBatch(ids);
     }
 
     /**
@@ -225,6 +291,7 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return List
      */
     @Override
+    @Transactional(readOnly = true)
     public List<T> findList(Iterable<I> ids) {
         return getBaseDao().findAllById(ids);
     }
@@ -235,10 +302,76 @@ public abstract class BaseDoServiceImpl<T extends BaseEntity, I extends Serializ
      * @return Page
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<T> findAll(Specification<T> spec, Pageable pageable) {
         return getBaseDao().findAll(spec, pageable);
     }
 
+    /**
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph) {
+        return getBaseDao().findAll(spec, pageable, entityGraph);
+    }
+
+    /**
+     * @param projection projection interface
+     * @param spec       spec
+     * @param pageable   pageable
+     * @param <P>        projection type
+     * @return Page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> Page<P> findAllProjectedBy(Class<P> projection, Specification<T> spec, Pageable pageable) {
+        return getBaseDao().findAllProjectedBy(projection, spec, pageable);
+    }
+
+    /**
+     * checked here rather than in dao, where the repository proxy would translate the exception.
+     *
+     * @param size slice size
+     * @throws IllegalArgumentException if size is not between 1 and {@link JpaConstants#MAX_SLICE_SIZE}
+     */
+    private static void checkSliceSize(int size) {
+        if (size < 1 || size > JpaConstants.MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + JpaConstants.MAX_SLICE_SIZE);
+        }
+    }
+
+    /**
+     * @param lastId last id of previous slice
+     * @param size   size
+     * @param spec   spec
+     * @return Slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<T> findAfter(I lastId, int size, Specification<T> spec) {
+        checkSliceSize(size);
+        return getBaseDao().findAfter(lastId, size, spec);
+    }
+
+    /**
+     * @param projection projection interface
+     * @param lastId     last id of previous slice
+     * @param size       size
+     * @param spec       spec
+     * @param <P>        projection type
+     * @return Slice
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <P> Slice<P> findAfterProjectedBy(Class<P> projection, I lastId, int size, Specification<T> spec) {
+        checkSliceSize(size);
+        return getBaseDao().findAfterProjectedBy(projection, lastId, size, spec);
+    }
+
     /**
      * flush.
      */
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tech.pdai.springboot.mysql8.jpa.dao.IBaseDao;
 import tech.pdai.springboot.mysql8.jpa.dao.IRoleDao;
 import tech.pdai.springboot.mysql8.jpa.entity.Role;
@@ -45,6 +46,7 @@ public class RoleDoServiceImpl extends BaseDoServiceImpl<Role, Long> implements
      * @return page
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Role> findPage(RoleQueryBean roleQueryBean, PageRequest pageRequest) {
         Specification<Role> specification = Specifications.<Role>and()
                 .like(StringUtils.isNotEmpty(roleQueryBean.getName()), "name",
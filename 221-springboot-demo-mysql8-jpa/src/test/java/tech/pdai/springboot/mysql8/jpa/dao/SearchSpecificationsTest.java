@@ -0,0 +1,87 @@
+package tech.pdai.springboot.mysql8.jpa.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql8.jpa.constants.SearchMode;
+import tech.pdai.springboot.mysql8.jpa.entity.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * search of 1M users by {@link SearchMode} on H2 in MySQL mode, with the btree index of {@code user_name}. H2 has no
+ * {@code match ... against}, so {@link SearchMode#FULLTEXT} is only measurable on MySQL.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchSpecificationsTest {
+
+    private static final int USERS = 1_000_000;
+
+    private static final int CHUNK = 10_000;
+
+    private static final int SEARCHES = 20;
+
+    @Autowired
+    private IUserDao userDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public void setUp() {
+        // chunks in their own transaction, H2 commits the identity sequence every 32 rows and such a commit
+        // walks all rows of the open transaction
+        for (int from = 1; from <= USERS; from += CHUNK) {
+            jdbcTemplate.update("insert into tb_user(user_name, password, phone_number, description)"
+                    + " select concat('user_', \"X\"), 'pwd', 0, concat('user ', \"X\") from system_range(?, ?)", from,
+                    from + CHUNK - 1);
+        }
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        jdbcTemplate.update("truncate table tb_user");
+    }
+
+    @Test
+    public void prefixSearchFindsSameUsersFasterThanContains() {
+        // user_12345 and user_123450 to user_123459
+        String term = "user_12345";
+        long containsNanos = search(SearchMode.CONTAINS, term);
+        long prefixNanos = search(SearchMode.PREFIX, term);
+
+        assertTrue(prefixNanos < containsNanos);
+        log.info("search of {} users by CONTAINS: {} us/search, by PREFIX: {} us/search", USERS,
+                containsNanos / 1000, prefixNanos / 1000);
+    }
+
+    /**
+     * @return average nanos of a page and count query, after one warm up search
+     */
+    private long search(SearchMode mode, String term) {
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Page<User> page = userDao.findAll(SearchSpecifications.search(mode, "userName", term), pageRequest);
+        assertEquals(11, page.getTotalElements());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SEARCHES; i++) {
+            userDao.findAll(SearchSpecifications.search(mode, "userName", term), pageRequest);
+        }
+        return (System.nanoTime() - start) / SEARCHES;
+    }
+
+}
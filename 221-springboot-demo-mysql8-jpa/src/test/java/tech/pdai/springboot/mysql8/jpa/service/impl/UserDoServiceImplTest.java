@@ -0,0 +1,463 @@
+package tech.pdai.springboot.mysql8.jpa.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.pdai.springboot.mysql8.jpa.constants.JpaConstants;
+import tech.pdai.springboot.mysql8.jpa.dao.IUserDao;
+import tech.pdai.springboot.mysql8.jpa.entity.User;
+import tech.pdai.springboot.mysql8.jpa.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.jpa.entity.view.UserListView;
+import tech.pdai.springboot.mysql8.jpa.service.IUserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * statements issued by {@link UserDoServiceImpl#findPage} on H2 in MySQL mode.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserDoServiceImplTest {
+
+    private static final int USERS = 1000;
+
+    /**
+     * batch size of {@code User.roles}.
+     */
+    private static final int ROLES_BATCH_SIZE = 500;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IUserDao userDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user_" + i, "pwd", 0});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_user(id, user_name, password, phone_number) values (?, ?, ?, ?)",
+                users);
+        jdbcTemplate.batchUpdate("insert into tb_user_role(user_id, role_id) values (?, ?)", userRoles());
+
+        // roles cached by an earlier test would save their batch queries
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void rolesGraphPageRunsOneRolesStatementPerBatch() {
+        for (int pageSize : new int[]{10, ROLES_BATCH_SIZE, USERS}) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            long statements = statementsOfPage(pageSize, User.GRAPH_ROLES);
+
+            // page query and count query, then one roles query per batch of users
+            long rolesStatements = (pageSize + ROLES_BATCH_SIZE - 1) / ROLES_BATCH_SIZE;
+            assertEquals(2 + rolesStatements, statements, "page size " + pageSize);
+        }
+    }
+
+    @Test
+    public void listPageDoesNotLoadRoles() {
+        statistics.clear();
+        Page<User> page = userService.findPage(UserQueryBean.builder().build(), PageRequest.of(0, 50));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        for (User user : page.getContent()) {
+            assertFalse(Hibernate.isInitialized(user.getRoles()));
+        }
+    }
+
+    @Test
+    public void listViewPageCostsLessThanEntityPage() {
+        UserQueryBean queryBean = UserQueryBean.builder().build();
+        PageRequest pageRequest = PageRequest.of(0, USERS);
+        // warm up jit of both before either is measured
+        measure(() -> userService.findPage(queryBean, pageRequest));
+        measure(() -> userService.findPage(queryBean, pageRequest, UserListView.class));
+
+        long[] entities = measure(() -> userService.findPage(queryBean, pageRequest));
+        long[] views = measure(() -> userService.findPage(queryBean, pageRequest, UserListView.class));
+
+        assertTrue(views[1] < entities[1]);
+        log.info("page of {} users as User: {} us/page, {} bytes/page, as UserListView: {} us/page, {} bytes/page",
+                USERS, entities[0] / 1000, entities[1], views[0] / 1000, views[1]);
+    }
+
+    @Test
+    public void listViewIsWrittenAsJson() throws JsonProcessingException {
+        UserListView user = userService.findPage(UserQueryBean.builder().name("user_1").build(), PageRequest.of(0, 1),
+                UserListView.class).getContent().get(0);
+
+        assertEquals(1L, user.getId());
+        assertEquals(objectMapper.readTree("{\"id\":1,\"userName\":\"user_1\",\"email\":null,\"phoneNumber\":0,"
+                        + "\"description\":null,\"createTime\":null,\"updateTime\":null}"),
+                objectMapper.readTree(objectMapper.writeValueAsString(user)));
+    }
+
+    @Test
+    public void readOnlyTransactionCostsLessThanReadWrite() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        PageRequest pageRequest = PageRequest.of(0, USERS);
+        // warm up jit of both before either is measured
+        measure(() -> readWrite.execute(status -> userDao.findAll(pageRequest)));
+        measure(() -> readOnly.execute(status -> userDao.findAll(pageRequest)));
+
+        long[] readWritePage = measure(() -> readWrite.execute(status -> userDao.findAll(pageRequest)));
+        long[] readOnlyPage = measure(() -> readOnly.execute(status -> userDao.findAll(pageRequest)));
+        long readWriteCall = nanosPerCall(() -> readWrite.execute(status -> userDao.findById(1L)));
+        long readOnlyCall = nanosPerCall(() -> readOnly.execute(status -> userDao.findById(1L)));
+
+        // a read-only session keeps no snapshot for dirty checking and skips the flush on commit
+        assertTrue(readOnlyPage[1] < readWritePage[1]);
+        log.info("page of {} users read-write: {} us/page, {} bytes/page, read-only: {} us/page, {} bytes/page;"
+                        + " find by id read-write: {} ns/call, read-only: {} ns/call", USERS, readWritePage[0] / 1000,
+                readWritePage[1], readOnlyPage[0] / 1000, readOnlyPage[1], readWriteCall, readOnlyCall);
+    }
+
+    @Test
+    public void scrollWalksAllUsersByCursor() {
+        Long lastId = null;
+        int users = 0;
+        Slice<UserListView> slice;
+        do {
+            slice = userService.findAfter(UserQueryBean.builder().build(), lastId, 50, UserListView.class);
+            for (UserListView user : slice.getContent()) {
+                assertTrue(lastId == null || user.getId() > lastId);
+                lastId = user.getId();
+                users++;
+            }
+        } while (slice.hasNext());
+
+        assertEquals(USERS, users);
+    }
+
+    @Test
+    public void scrollRejectsSizeOutOfRange() {
+        UserQueryBean queryBean = UserQueryBean.builder().build();
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findAfter(queryBean, null, 0, UserListView.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findAfter(queryBean, null, JpaConstants.MAX_SLICE_SIZE + 1, UserListView.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findAfter(queryBean, null, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void forEachStreamsAllUsersInOneTransaction() {
+        Set<Long> ids = new HashSet<>();
+        long rows = userService.forEach(UserQueryBean.builder().build(), UserListView.class,
+                user -> ids.add(user.getId()));
+
+        assertEquals(USERS, rows);
+        assertEquals(USERS, ids.size());
+    }
+
+    @Test
+    public void streamDetachesEveryUser() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        List<Boolean> managed = transactionTemplate.execute(status -> {
+            try (Stream<User> users = userService.stream(UserQueryBean.builder().build())) {
+                return users.map(entityManager::contains).collect(Collectors.toList());
+            }
+        });
+
+        assertEquals(USERS, managed.size());
+        assertFalse(managed.contains(true));
+    }
+
+    @Test
+    public void saveOrUpdateKeepsCreateTimeOfExistingUser() {
+        LocalDateTime createTime = LocalDateTime.of(2021, 9, 8, 17, 9, 15);
+        jdbcTemplate.update("update tb_user set create_time = ? where id = 1", createTime);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUserName("renamed");
+        user.setPassword("pwd");
+        User saved = userService.saveOrUpdate(user);
+
+        assertEquals(createTime, saved.getCreateTime());
+        assertEquals("renamed", saved.getUserName());
+        assertEquals(createTime, jdbcTemplate.queryForObject("select create_time from tb_user where id = 1",
+                LocalDateTime.class));
+    }
+
+    @Test
+    public void saveOrUpdateThroughput() {
+        // the former UserController.add: exists, then save or update, then find with roles, whose update
+        // also deleted the role links of the user
+        statistics.clear();
+        long start = System.nanoTime();
+        for (long id = 1; id <= USERS; id++) {
+            User user = user(id, "add_");
+            if (!userService.exists(id)) {
+                userService.save(user);
+            } else {
+                userService.update(user);
+            }
+            userService.find(id, User.GRAPH_ROLES);
+        }
+        long addMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long addStatements = statistics.getPrepareStatementCount();
+        jdbcTemplate.batchUpdate("insert into tb_user_role(user_id, role_id) values (?, ?)", userRoles());
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (long id = 1; id <= USERS; id++) {
+            userService.saveOrUpdate(user(id, "save_or_update_"));
+        }
+        long saveOrUpdateMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long saveOrUpdateStatements = statistics.getPrepareStatementCount();
+
+        // select by id and update, the role links are kept
+        assertEquals(2L * USERS, saveOrUpdateStatements);
+        assertEquals(2 * USERS, jdbcTemplate.queryForObject("select count(*) from tb_user_role", Integer.class));
+        assertTrue(saveOrUpdateStatements < addStatements);
+        assertEquals(USERS, jdbcTemplate.queryForObject(
+                "select count(*) from tb_user where user_name like 'save\\_or\\_update\\_%'", Integer.class));
+        log.info("{} existing users by exists/update/find: {} rows/sec, {} statements, by saveOrUpdate: {} rows/sec,"
+                        + " {} statements", USERS, USERS * 1000L / addMillis, addStatements,
+                USERS * 1000L / saveOrUpdateMillis, saveOrUpdateStatements);
+    }
+
+    @Test
+    public void updateWhereUpdatesMatchingUsers() {
+        int rows = userService.updateWhere((root, query, cb) -> cb.le(root.get("id"), 10L),
+                Collections.singletonMap("description", "updated"));
+
+        assertEquals(10, rows);
+        assertEquals(10, jdbcTemplate.queryForObject("select count(*) from tb_user where description = 'updated'",
+                Integer.class));
+    }
+
+    @Test
+    public void updateWhereFailsForSpecUsingQuery() {
+        // there is no criteria query for a bulk update
+        assertThrows(NullPointerException.class, () -> userService.updateWhere((root, query, cb) -> {
+            query.distinct(true);
+            return cb.le(root.get("id"), 10L);
+        }, Collections.singletonMap("description", "updated")));
+    }
+
+    @Test
+    public void deleteByIdsThroughput() {
+        int rows = 100_000;
+        int loadedRows = 5000;
+
+        // the former deleteByIds, which loads and removes every user
+        List<Long> loadedIds = insertUsers("loaded_", loadedRows);
+        statistics.clear();
+        long start = System.nanoTime();
+        userDao.deleteAllById(loadedIds);
+        long loadedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long loadedStatements = statistics.getPrepareStatementCount();
+
+        List<Long> ids = insertUsers("bulk_", rows);
+        statistics.clear();
+        start = System.nanoTime();
+        userService.deleteByIds(ids);
+        long bulkMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        // one delete of tb_user_role and one of tb_user per chunk of 500 ids
+        assertEquals(2L * rows / 500, bulkStatements);
+        assertEquals(USERS, jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class));
+        assertEquals(2 * USERS, jdbcTemplate.queryForObject("select count(*) from tb_user_role", Integer.class));
+        log.info("delete of {} users by deleteAllById: {} rows/sec, {} statements, of {} users by deleteByIds:"
+                        + " {} rows/sec, {} statements", loadedRows, loadedRows * 1000L / loadedMillis,
+                loadedStatements, rows, rows * 1000L / bulkMillis, bulkStatements);
+    }
+
+    @Test
+    public void saveListThroughput() {
+        // generated ids start below the ids of setUp
+        cleanUp();
+        int rows = 5000;
+        statistics.clear();
+        long start = System.nanoTime();
+        for (User user : users("single_", rows)) {
+            userService.save(user);
+        }
+        long singleMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        userService.save(users("batch_", rows));
+        long batchMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(rows * 2, jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class));
+        assertTrue(batchStatements < singleStatements);
+        log.info("{} users by save: {} rows/sec, {} statements, by save(list): {} rows/sec, {} statements", rows,
+                rows * 1000L / singleMillis, singleStatements, rows * 1000L / batchMillis, batchStatements);
+    }
+
+    private long statementsOfPage(int pageSize, String entityGraph) {
+        statistics.clear();
+        Page<User> page = userService.findPage(UserQueryBean.builder().build(), PageRequest.of(0, pageSize),
+                entityGraph);
+
+        assertEquals(pageSize, page.getContent().size());
+        for (User user : page.getContent()) {
+            assertTrue(Hibernate.isInitialized(user.getRoles()));
+            assertEquals(2, user.getRoles().size());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * @return nanos and allocated bytes of the current thread per page, bytes are -1 without the HotSpot counter
+     */
+    private static long[] measure(Supplier<Page<?>> page) {
+        int pages = 50;
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < pages; i++) {
+            assertEquals(USERS, page.get().getNumberOfElements());
+        }
+        long nanos = System.nanoTime() - start;
+        return new long[]{nanos / pages, bytes < 0 ? -1 : (allocatedBytes() - bytes) / pages};
+    }
+
+    /**
+     * @return nanos per call, after as many warm up calls
+     */
+    private static long nanosPerCall(Runnable call) {
+        int calls = 10_000;
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / calls;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                ? ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(
+                Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * insert users with role 2 by chunks, ids by auto increment. H2 commits its identity sequence on every row
+     * with an explicit id above it, and every 32 rows otherwise, such a commit walks the open transaction.
+     *
+     * @return ids
+     */
+    private List<Long> insertUsers(String prefix, int count) {
+        for (int from = 1; from <= count; from += 10_000) {
+            jdbcTemplate.update("insert into tb_user(user_name, password, phone_number)"
+                    + " select concat(?, \"X\"), 'pwd', 0 from system_range(?, ?)", prefix, from,
+                    Math.min(from + 10_000 - 1, count));
+        }
+        jdbcTemplate.update("insert into tb_user_role(user_id, role_id) select id, 2 from tb_user"
+                + " where user_name like concat(?, '%')", prefix);
+        return jdbcTemplate.queryForList("select id from tb_user where user_name like concat(?, '%') order by id",
+                Long.class, prefix);
+    }
+
+    /**
+     * @return roles 1 and 2 of every user
+     */
+    private static List<Object[]> userRoles() {
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            userRoles.add(new Object[]{i, 1});
+            userRoles.add(new Object[]{i, 2});
+        }
+        return userRoles;
+    }
+
+    private static User user(long id, String prefix) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName(prefix + id);
+        user.setPassword("pwd");
+        return user;
+    }
+
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUserName(prefix + i);
+            user.setPassword("password_" + i);
+            user.setEmail("user_" + i + "@pdai.tech");
+            user.setDescription("user " + i);
+            users.add(user);
+        }
+        return users;
+    }
+
+}
@@ -0,0 +1,78 @@
+package tech.pdai.springboot.mysql8.mybatis.xml.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * routes mapper methods annotated with {@link UseExecutor} to a {@link SqlSessionTemplate} of that executor type.
+ *
+ * @author pdai
+ */
+@Configuration
+public class MybatisExecutorConfig {
+
+    /**
+     * infrastructure role, so that the advisor applies without aspectj auto proxy as well.
+     *
+     * @param sqlSessionFactory sql session factory, resolved on first call
+     * @return advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static DefaultPointcutAdvisor useExecutorAdvisor(ObjectProvider<SqlSessionFactory> sqlSessionFactory) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, UseExecutor.class, true),
+                new UseExecutorInterceptor(sqlSessionFactory));
+    }
+
+    /**
+     * calls the same mapper method on the template of the requested executor type.
+     */
+    static class UseExecutorInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<SqlSessionFactory> sqlSessionFactory;
+
+        private final Map<ExecutorType, SqlSessionTemplate> templates = new ConcurrentHashMap<>();
+
+        UseExecutorInterceptor(final ObjectProvider<SqlSessionFactory> sqlSessionFactory2) {
+            this.sqlSessionFactory = sqlSessionFactory2;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            UseExecutor useExecutor = AnnotatedElementUtils.findMergedAnnotation(method, UseExecutor.class);
+            SqlSessionFactory factory = sqlSessionFactory.getObject();
+            // a session bound to the transaction keeps its executor for the whole transaction
+            if (useExecutor == null
+                    || useExecutor.value() == factory.getConfiguration().getDefaultExecutorType()
+                    || TransactionSynchronizationManager.isSynchronizationActive()) {
+                return invocation.proceed();
+            }
+            SqlSessionTemplate template = templates.computeIfAbsent(useExecutor.value(),
+                    type -> new SqlSessionTemplate(factory, type));
+            Object mapper = template.getMapper(method.getDeclaringClass());
+            try {
+                return method.invoke(mapper, invocation.getArguments());
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package tech.pdai.springboot.mysql8.mybatis.xml.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.param.UserAddParam;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.query.UserQueryBean;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.response.ResponseResult;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.response.ScrollResult;
 import tech.pdai.springboot.mysql8.mybatis.xml.service.IUserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 
 /**
  * @author pdai
@@ -22,6 +31,9 @@ public class UserController {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * @param user user param
      * @return user
@@ -40,6 +52,26 @@ public class UserController {
         return ResponseResult.success(userService.findById(user.getId()));
     }
 
+    /**
+     * @param users users to add, user name and password are required
+     * @return affected rows
+     */
+    @ApiOperation("Add User in Batch")
+    @PostMapping("add/batch")
+    public ResponseResult<Integer> addBatch(@RequestBody List<UserAddParam> users) {
+        return ResponseResult.success(userService.saveBatch(users.stream().map(UserAddParam::toUser)
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * @param users users to edit, all editable columns are overwritten
+     * @return affected rows
+     */
+    @ApiOperation("Edit User in Batch")
+    @PostMapping("edit/batch")
+    public ResponseResult<Integer> editBatch(@RequestBody List<User> users) {
+        return ResponseResult.success(userService.updateBatch(users));
+    }
 
     /**
      * @return user list
@@ -58,4 +90,41 @@ public class UserController {
     public ResponseResult<List<User>> list(UserQueryBean userQueryBean) {
         return ResponseResult.success(userService.findList(userQueryBean));
     }
+
+    /**
+     * @param userQueryBean query
+     * @param cursor        cursor of previous page, empty for the first page
+     * @param size          page size
+     * @return user page
+     */
+    @ApiOperation("Query User Page by Cursor")
+    @GetMapping("scroll")
+    public ResponseResult<ScrollResult<User>> scroll(UserQueryBean userQueryBean,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseResult.success(userService.findPageAfter(userQueryBean, cursor, size));
+    }
+
+    /**
+     * export users as newline delimited json, rows are streamed from db cursor to response.
+     *
+     * @param userQueryBean query
+     * @param response      response
+     * @throws IOException io exception
+     */
+    @ApiOperation("Export User")
+    @GetMapping("export")
+    public void export(UserQueryBean userQueryBean, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        userService.export(userQueryBean, user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(user));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        outputStream.flush();
+    }
 }
@@ -1,6 +1,10 @@
 package tech.pdai.springboot.mysql8.mybatis.xml.dao;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.mysql8.mybatis.xml.config.UseExecutor;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.query.UserQueryBean;
 
@@ -12,7 +16,33 @@ import java.util.List;
 @Mapper
 public interface IUserDao {
 
-    List<User> findList(UserQueryBean userQueryBean);
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
+    List<User> findList(@Param("query") UserQueryBean userQueryBean);
+
+    /**
+     * keyset page ordered by id.
+     *
+     * @param userQueryBean query
+     * @param after         id of the last user of previous page
+     * @param limit         max users
+     * @return users
+     */
+    List<User> findPageAfter(@Param("query") UserQueryBean userQueryBean, @Param("after") long after,
+                             @Param("limit") int limit);
+
+    /**
+     * stream users ordered by id, the cursor is only valid within the transaction.
+     *
+     * @param userQueryBean query
+     * @return cursor
+     */
+    Cursor<User> streamList(@Param("query") UserQueryBean userQueryBean);
 
     User findById(Long id);
 
@@ -24,5 +54,21 @@ public interface IUserDao {
 
     int save(User user);
 
+    /**
+     * multi-row insert, generated ids are not written back.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    int saveAll(@Param("users") List<User> users);
+
+    /**
+     * update all editable columns, nulls included.
+     *
+     * @param user user
+     * @return affected rows
+     */
+    int updateAllColumns(User user);
+
     int updatePassword(User user);
 }
@@ -0,0 +1,54 @@
+package tech.pdai.springboot.mysql8.mybatis.xml.entity.param;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
+
+/**
+ * user to add, unlike {@link User} it is read with the password.
+ *
+ * @author pdai
+ */
+@Data
+@ApiModel("UserAdd")
+public class UserAddParam {
+
+    /**
+     * username, required.
+     */
+    private String userName;
+
+    /**
+     * user pwd, required.
+     */
+    private String password;
+
+    /**
+     * email.
+     */
+    private String email;
+
+    /**
+     * phoneNumber.
+     */
+    private long phoneNumber;
+
+    /**
+     * description.
+     */
+    private String description;
+
+    /**
+     * @return user
+     */
+    public User toUser() {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassword(password);
+        user.setEmail(email);
+        user.setPhoneNumber(phoneNumber);
+        user.setDescription(description);
+        return user;
+    }
+
+}
@@ -2,8 +2,10 @@ package tech.pdai.springboot.mysql8.mybatis.xml.service;
 
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.response.ScrollResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -13,6 +15,10 @@ public interface IUserService {
 
     List<User> findList(UserQueryBean userQueryBean);
 
+    ScrollResult<User> findPageAfter(UserQueryBean userQueryBean, String cursor, int size);
+
+    void export(UserQueryBean userQueryBean, Consumer<User> consumer);
+
     User findById(Long id);
 
     int deleteById(Long id);
@@ -23,6 +29,10 @@ public interface IUserService {
 
     int save(User user);
 
+    int saveBatch(List<User> users);
+
+    int updateBatch(List<User> users);
+
     int updatePassword(User user);
 
 }
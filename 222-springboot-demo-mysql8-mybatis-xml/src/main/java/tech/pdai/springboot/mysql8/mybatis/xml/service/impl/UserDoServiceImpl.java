@@ -1,28 +1,61 @@
 package tech.pdai.springboot.mysql8.mybatis.xml.service.impl;
 
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import tech.pdai.springboot.mysql8.mybatis.xml.dao.IUserDao;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
 import tech.pdai.springboot.mysql8.mybatis.xml.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.response.ScrollResult;
 import tech.pdai.springboot.mysql8.mybatis.xml.service.IUserService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class UserDoServiceImpl implements IUserService {
 
+    /**
+     * max users of one keyset page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * rows of one multi-row insert.
+     */
+    private static final int INSERT_ROWS = 200;
+
+    /**
+     * rows sent to db per flush of the batch executor.
+     */
+    private static final int FLUSH_ROWS = 1000;
+
     /**
      * userDao.
      */
     private final IUserDao userDao;
 
+    /**
+     * sqlSessionFactory, opens BATCH sessions for bulk writes.
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
     /**
      * init.
      *
-     * @param userDao2 user dao
+     * @param userDao2           user dao
+     * @param sqlSessionFactory2 sql session factory
      */
-    public UserDoServiceImpl(final IUserDao userDao2) {
+    public UserDoServiceImpl(final IUserDao userDao2, final SqlSessionFactory sqlSessionFactory2) {
         this.userDao = userDao2;
+        this.sqlSessionFactory = sqlSessionFactory2;
     }
 
     @Override
@@ -30,6 +63,33 @@ public class UserDoServiceImpl implements IUserService {
         return userDao.findList(userQueryBean);
     }
 
+    @Override
+    public ScrollResult<User> findPageAfter(UserQueryBean userQueryBean, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long after = ScrollResult.decodeCursor(cursor);
+        // one more row tells if there is a next page
+        List<User> users = userDao.findPageAfter(userQueryBean, after == null ? 0L : after, size + 1);
+        boolean hasNext = users.size() > size;
+        List<User> content = hasNext ? users.subList(0, size) : users;
+        return ScrollResult.<User>builder()
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? ScrollResult.encodeCursor(content.get(size - 1).getId()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(UserQueryBean userQueryBean, Consumer<User> consumer) {
+        try (Cursor<User> users = userDao.streamList(userQueryBean)) {
+            users.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public User findById(Long id) {
         return userDao.findById(id);
@@ -55,6 +115,80 @@ public class UserDoServiceImpl implements IUserService {
         return userDao.save(user);
     }
 
+    /**
+     * insert users as multi-row inserts of {@link #INSERT_ROWS} rows through a BATCH session, the batch is
+     * flushed every {@link #FLUSH_ROWS} rows. The session uses the spring managed connection, so all rows
+     * commit or roll back together.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int saveBatch(List<User> users) {
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (!StringUtils.hasText(user.getUserName()) || !StringUtils.hasText(user.getPassword())) {
+                throw new IllegalArgumentException("userName and password are required, missing in user " + i);
+            }
+        }
+        int rows = 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            IUserDao batchDao = session.getMapper(IUserDao.class);
+            int pending = 0;
+            for (int from = 0; from < users.size(); from += INSERT_ROWS) {
+                List<User> chunk = users.subList(from, Math.min(from + INSERT_ROWS, users.size()));
+                batchDao.saveAll(chunk);
+                pending += chunk.size();
+                if (pending >= FLUSH_ROWS) {
+                    rows += flush(session);
+                    pending = 0;
+                }
+            }
+            rows += flush(session);
+            session.commit();
+        }
+        return rows;
+    }
+
+    /**
+     * update users one statement per row through a BATCH session, the batch is flushed every
+     * {@link #FLUSH_ROWS} rows.
+     *
+     * @param users users
+     * @return affected rows
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int updateBatch(List<User> users) {
+        int rows = 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            IUserDao batchDao = session.getMapper(IUserDao.class);
+            int pending = 0;
+            for (User user : users) {
+                batchDao.updateAllColumns(user);
+                if (++pending >= FLUSH_ROWS) {
+                    rows += flush(session);
+                    pending = 0;
+                }
+            }
+            rows += flush(session);
+            session.commit();
+        }
+        return rows;
+    }
+
+    private static int flush(SqlSession session) {
+        int rows = 0;
+        for (BatchResult result : session.flushStatements()) {
+            for (int count : result.getUpdateCounts()) {
+                // driver may report SUCCESS_NO_INFO for rewritten batches
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
     @Override
     public int updatePassword(User user) {
         return userDao.updatePassword(user);
@@ -0,0 +1,95 @@
+package tech.pdai.springboot.mysql8.mybatis.xml.dao;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * runs {@code IUserDao.findById} under every executor type on H2 in MySQL mode, in sessions of
+ * {@link #SESSION_CALLS} calls like the lookups of one transaction, and compares the calls/sec.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class ExecutorTypeTest {
+
+    private static final int USERS = 1000;
+
+    private static final int CALLS = 50_000;
+
+    private static final int SESSION_CALLS = 100;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user_" + i, "pwd"});
+            userRoles.add(new Object[]{i, 1});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_user(id, user_name, password) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into tb_user_role(user_id, role_id) values (?, ?)", userRoles);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void reuseExecutorPreparesLookupOncePerSession() {
+        Map<ExecutorType, Long> rates = new EnumMap<>(ExecutorType.class);
+        for (ExecutorType type : ExecutorType.values()) {
+            // warm up statement caches and jit
+            run(type, CALLS / 5);
+            long start = System.nanoTime();
+            run(type, CALLS);
+            long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+            rates.put(type, CALLS * 1000L / millis);
+            log.info("findById {} calls by {} executor, {} calls per session: {} ms, {} calls/sec", CALLS, type,
+                    SESSION_CALLS, millis, rates.get(type));
+        }
+
+        assertTrue(rates.get(ExecutorType.REUSE) > rates.get(ExecutorType.SIMPLE), "calls/sec " + rates);
+    }
+
+    private void run(ExecutorType type, int calls) {
+        int done = 0;
+        while (done < calls) {
+            try (SqlSession session = sqlSessionFactory.openSession(type)) {
+                IUserDao userDao = session.getMapper(IUserDao.class);
+                for (int i = 0; i < SESSION_CALLS && done < calls; i++, done++) {
+                    // the session cache would answer a repeated id without a statement
+                    session.clearCache();
+                    assertEquals(1, userDao.findById((long) done % USERS + 1).getRoles().size());
+                }
+            }
+        }
+    }
+
+}
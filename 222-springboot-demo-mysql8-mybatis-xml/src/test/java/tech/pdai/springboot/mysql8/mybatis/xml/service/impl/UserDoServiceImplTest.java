@@ -0,0 +1,117 @@
+package tech.pdai.springboot.mysql8.mybatis.xml.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql8.mybatis.xml.entity.User;
+import tech.pdai.springboot.mysql8.mybatis.xml.service.IUserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link UserDoServiceImpl} on H2 in MySQL mode.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserDoServiceImplTest {
+
+    private static final String SELECT_USERS = "select user_name, password, email, phone_number, description"
+            + " from tb_user where user_name like ? order by id";
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void saveBatchStoresSameRowsAsSave() {
+        for (User user : users("single_", 3)) {
+            userService.save(user);
+        }
+        assertEquals(3, userService.saveBatch(users("batch_", 3)));
+
+        List<Map<String, Object>> single = jdbcTemplate.queryForList(SELECT_USERS, "single_%");
+        List<Map<String, Object>> batch = jdbcTemplate.queryForList(SELECT_USERS, "batch_%");
+        assertEquals(3, batch.size());
+        for (int i = 0; i < single.size(); i++) {
+            single.get(i).remove("USER_NAME");
+            batch.get(i).remove("USER_NAME");
+            assertEquals(single.get(i), batch.get(i));
+        }
+    }
+
+    @Test
+    public void saveBatchRequiresPassword() {
+        List<User> users = users("batch_", 2);
+        users.get(1).setPassword(null);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.saveBatch(users));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class));
+    }
+
+    @Test
+    public void saveBatchIsFasterThanSave() {
+        int rows = 5000;
+        // warm up jit of both before either is measured
+        users("warm_", 500).forEach(userService::save);
+        userService.saveBatch(users("warm_", 500));
+
+        long start = System.nanoTime();
+        for (User user : users("single_", rows)) {
+            userService.save(user);
+        }
+        long singleMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        start = System.nanoTime();
+        assertEquals(rows, userService.saveBatch(users("batch_", rows)));
+        long batchMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        assertEquals(rows, jdbcTemplate.queryForObject("select count(*) from tb_user where user_name like 'batch_%'",
+                Integer.class));
+        assertTrue(batchMillis < singleMillis, "saveBatch " + batchMillis + " ms, save " + singleMillis + " ms");
+        log.info("{} users by save: {} rows/sec, by saveBatch: {} rows/sec", rows, rows * 1000L / singleMillis,
+                rows * 1000L / batchMillis);
+    }
+
+    /**
+     * every third user has empty email, phone number and description, which save leaves to the column defaults.
+     */
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUserName(prefix + i);
+            user.setPassword("password_" + i);
+            if (i % 3 != 0) {
+                user.setEmail("user_" + i + "@pdai.tech");
+                user.setPhoneNumber(1_000_000 + i);
+                user.setDescription("user " + i);
+            } else {
+                user.setEmail("");
+                user.setDescription("");
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+}
@@ -0,0 +1,28 @@
+package tech.pdai.springboot.mysql8.mybatis.anno.config;
+
+import org.apache.ibatis.session.ExecutorType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * run a mapper method with the given executor instead of {@code mybatis.configuration.default-executor-type}.
+ * <p>
+ * Inside a transaction the default executor is used, mybatis-spring binds one session with one executor to the
+ * transaction.
+ *
+ * @author pdai
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UseExecutor {
+
+    /**
+     * @return executor type
+     */
+    ExecutorType value();
+}
@@ -2,8 +2,10 @@ package tech.pdai.springboot.mysql8.mybatis.anno.dao;
 
 import org.apache.ibatis.annotations.*;
 import tech.pdai.springboot.mysql8.mybatis.anno.entity.Role;
+import tech.pdai.springboot.mysql8.mybatis.anno.entity.UserRole;
 import tech.pdai.springboot.mysql8.mybatis.anno.entity.query.RoleQueryBean;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +30,25 @@ public interface IRoleDao {
     List<Role> findList(RoleQueryBean roleQueryBean);
 
     @ResultMap("RoleResult")
-    @Select("select r.id, r.name, r.role_key, r.description, r.create_time, r.update_time from tb_role r, tb_user_role ur where r.id = ur.user_id and ur.user_id = #{userId}")
+    @Select("select r.id, r.name, r.role_key, r.description, r.create_time, r.update_time from tb_role r, tb_user_role ur where r.id = ur.role_id and ur.user_id = #{userId}")
     List<Role> findRoleByUserId(Long userId);
+
+    @Results(
+            id = "UserRoleResult",
+            value = {
+                    @Result(property = "userId", column = "user_id"),
+                    @Result(property = "role.id", column = "id"),
+                    @Result(property = "role.name", column = "name"),
+                    @Result(property = "role.roleKey", column = "role_key"),
+                    @Result(property = "role.description", column = "description"),
+                    @Result(property = "role.createTime", column = "create_time"),
+                    @Result(property = "role.updateTime", column = "update_time")
+            }
+    )
+    @Select({"<script> ", "select ur.user_id, r.id, r.name, r.role_key, r.description, r.create_time, r.update_time" +
+            " from tb_role r, tb_user_role ur where r.id = ur.role_id and ur.user_id in\n" +
+            "<foreach collection=\"userIds\" item=\"userId\" open=\"(\" separator=\",\" close=\")\">\n" +
+            "#{userId}\n" +
+            "</foreach>", " </script>"})
+    List<UserRole> findRoleByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,5 +1,7 @@
 package tech.pdai.springboot.mysql8.mybatisplus.xml.dao;
 
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.mysql8.mybatisplus.xml.config.UseExecutor;
 import tech.pdai.springboot.mysql8.mybatisplus.xml.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.xml.entity.query.UserQueryBean;
 
@@ -10,6 +12,13 @@ import java.util.List;
  */
 public interface IUserDao {
 
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
     List<User> findList(UserQueryBean userQueryBean);
 
     User findById(Long id);
@@ -0,0 +1,26 @@
+package tech.pdai.springboot.mysql8.mybatisplus.anno.constants;
+
+/**
+ * how the total of a page is counted.
+ *
+ * @author pdai
+ */
+public enum CountMode {
+
+    /**
+     * count query per page.
+     */
+    EXACT,
+
+    /**
+     * table statistics for unfiltered lists, exact count otherwise. the statistics are cached for
+     * information_schema_stats_expiry, 24h by default.
+     */
+    APPROXIMATE,
+
+    /**
+     * no count, one more row tells if there is a next page.
+     */
+    NONE
+
+}
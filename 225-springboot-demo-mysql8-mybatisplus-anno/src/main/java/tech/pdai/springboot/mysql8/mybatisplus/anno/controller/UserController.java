@@ -4,8 +4,10 @@ package tech.pdai.springboot.mysql8.mybatisplus.anno.controller;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.constants.CountMode;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.response.PageResult;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.response.ResponseResult;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.service.IUserService;
 
@@ -56,4 +58,22 @@ public class UserController {
     public ResponseResult<List<User>> list(UserQueryBean userQueryBean) {
         return ResponseResult.success(userService.findList(userQueryBean));
     }
+
+    /**
+     * @param userQueryBean query
+     * @param current       page number, from 1
+     * @param size          page size
+     * @param countMode     EXACT counts every page, APPROXIMATE estimates unfiltered lists, NONE skips counting
+     * @return user page
+     */
+    @ApiOperation(value = "Query User Page", notes = "APPROXIMATE reads information_schema.tables.table_rows, which"
+            + " MySQL 8 caches for information_schema_stats_expiry (24h by default), so its total may lag far behind"
+            + " recent inserts and deletes")
+    @GetMapping("page")
+    public ResponseResult<PageResult<User>> page(UserQueryBean userQueryBean,
+                                                 @RequestParam(defaultValue = "1") long current,
+                                                 @RequestParam(defaultValue = "20") long size,
+                                                 @RequestParam(defaultValue = "EXACT") CountMode countMode) {
+        return ResponseResult.success(userService.findPage(userQueryBean, current, size, countMode));
+    }
 }
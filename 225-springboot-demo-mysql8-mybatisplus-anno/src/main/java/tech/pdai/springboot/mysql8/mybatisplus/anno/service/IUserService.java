@@ -1,8 +1,10 @@
 package tech.pdai.springboot.mysql8.mybatisplus.anno.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.constants.CountMode;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.response.PageResult;
 
 import java.util.List;
 
@@ -13,4 +15,6 @@ public interface IUserService extends IService<User> {
 
     List<User> findList(UserQueryBean userQueryBean);
 
+    PageResult<User> findPage(UserQueryBean userQueryBean, long current, long size, CountMode countMode);
+
 }
@@ -0,0 +1,134 @@
+package tech.pdai.springboot.mysql8.mybatisplus.anno.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.constants.CountMode;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.User;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.entity.response.PageResult;
+import tech.pdai.springboot.mysql8.mybatisplus.anno.service.IUserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link UserDoServiceImpl} on H2 in MySQL mode. {@link CountMode#APPROXIMATE} reads the table statistics of MySQL
+ * information_schema, which H2 does not have, so only the exact count and no count are covered.
+ *
+ * @author pdai
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserDoServiceImplTest {
+
+    private static final int USERS = 20_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * pages 1 to DEPTH are read in turn.
+     */
+    private static final int DEPTH = 50;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        // DATABASE_TO_LOWER does not apply to the column of system_range
+        jdbcTemplate.update("insert into tb_user(user_name, password) select concat('user_', \"X\"), 'pwd'"
+                + " from system_range(1, " + USERS + ")");
+        // roles of the first pages only, tb_user_role has no index and every page joins all its rows
+        jdbcTemplate.update("insert into tb_user_role(user_id, role_id) select id, 1 from tb_user order by id"
+                + " limit 100");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("delete from tb_user_role");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    public void pageWithoutCountHasSameRecords() {
+        UserQueryBean query = new UserQueryBean();
+        PageResult<User> exact = userService.findPage(query, 3, PAGE_SIZE, CountMode.EXACT);
+        PageResult<User> none = userService.findPage(query, 3, PAGE_SIZE, CountMode.NONE);
+
+        assertEquals(USERS, exact.getTotal());
+        assertNull(none.getTotal());
+        assertTrue(exact.isHasNext());
+        assertTrue(none.isHasNext());
+        assertEquals(ids(exact), ids(none));
+        assertEquals(1, none.getRecords().get(0).getRoles().size());
+
+        long last = USERS / PAGE_SIZE;
+        assertFalse(userService.findPage(query, last, PAGE_SIZE, CountMode.EXACT).isHasNext());
+        assertFalse(userService.findPage(query, last, PAGE_SIZE, CountMode.NONE).isHasNext());
+        assertEquals(PAGE_SIZE, userService.findPage(query, last, PAGE_SIZE, CountMode.NONE).getRecords().size());
+    }
+
+    @Test
+    public void pageRejectsInvalidSizeAndCurrent() {
+        UserQueryBean query = new UserQueryBean();
+        assertThrows(IllegalArgumentException.class, () -> userService.findPage(query, 1, 0, CountMode.EXACT));
+        assertThrows(IllegalArgumentException.class, () -> userService.findPage(query, 1, 1001, CountMode.NONE));
+        assertThrows(IllegalArgumentException.class, () -> userService.findPage(query, 0, 20, CountMode.EXACT));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findPage(query, Long.MAX_VALUE, 20, CountMode.NONE));
+    }
+
+    @Test
+    public void pageWithoutCountIsFasterThanExactCount() {
+        int pages = 1000;
+        UserQueryBean query = new UserQueryBean();
+        // warm up statement caches and jit of both before either is measured
+        read(query, CountMode.EXACT, pages / 10);
+        read(query, CountMode.NONE, pages / 10);
+
+        long exactRate = measure(query, CountMode.EXACT, pages);
+        long noneRate = measure(query, CountMode.NONE, pages);
+
+        assertTrue(noneRate > exactRate, "pages/sec without count " + noneRate + ", exact " + exactRate);
+    }
+
+    /**
+     * @return pages/sec
+     */
+    private long measure(UserQueryBean query, CountMode countMode, int pages) {
+        long start = System.nanoTime();
+        read(query, countMode, pages);
+        long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("{} user pages of {} from {} users by count mode {}: {} ms, {} pages/sec", pages, PAGE_SIZE, USERS,
+                countMode, millis, pages * 1000L / millis);
+        return pages * 1000L / millis;
+    }
+
+    private void read(UserQueryBean query, CountMode countMode, int pages) {
+        for (int i = 0; i < pages; i++) {
+            assertEquals(PAGE_SIZE, userService.findPage(query, i % DEPTH + 1, PAGE_SIZE, countMode)
+                    .getRecords().size());
+        }
+    }
+
+    private static List<Long> ids(PageResult<User> page) {
+        return page.getRecords().stream().map(User::getId).collect(Collectors.toList());
+    }
+
+}
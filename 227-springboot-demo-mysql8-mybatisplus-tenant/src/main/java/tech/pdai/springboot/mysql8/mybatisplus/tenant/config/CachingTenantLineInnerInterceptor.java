@@ -0,0 +1,99 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.config;
+
+import java.util.List;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.schema.Column;
+
+/**
+ * tenant line interceptor that parses a statement once instead of on every execution.
+ * <p>
+ * The sql is rewritten with a marker in place of the tenant id, the rewritten template is cached by the original sql,
+ * and every execution only replaces the marker with the tenant id of the current {@code TenantLineHandler}. Tenant
+ * column and ignored tables are fixed per handler, so the original sql is a sufficient key. Tenant ids are inlined as
+ * numbers, the same as the builtin interceptor does.
+ *
+ * @author pdai
+ */
+public class CachingTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    private static final String TENANT_ID_MARKER = "__TENANT_ID__";
+
+    private final TenantLineHandler handler;
+
+    private final Cache<String, String> singleTemplates;
+
+    private final Cache<String, String> multiTemplates;
+
+    /**
+     * init.
+     *
+     * @param handler2     handler, provides the tenant id of each execution
+     * @param maximumSize2 max cached statements per kind
+     */
+    public CachingTenantLineInnerInterceptor(final TenantLineHandler handler2, final long maximumSize2) {
+        super(new MarkerTenantLineHandler(handler2));
+        this.handler = handler2;
+        this.singleTemplates = Caffeine.newBuilder().maximumSize(maximumSize2).build();
+        this.multiTemplates = Caffeine.newBuilder().maximumSize(maximumSize2).build();
+    }
+
+    /**
+     * select, called on every query.
+     */
+    @Override
+    public String parserSingle(String sql, Object obj) {
+        return bind(singleTemplates.get(sql, key -> super.parserSingle(key, obj)));
+    }
+
+    /**
+     * insert, update and delete, called on every prepare.
+     */
+    @Override
+    public String parserMulti(String sql, Object obj) {
+        return bind(multiTemplates.get(sql, key -> super.parserMulti(key, obj)));
+    }
+
+    private String bind(String template) {
+        if (!template.contains(TENANT_ID_MARKER)) {
+            return template;
+        }
+        return template.replace(TENANT_ID_MARKER, handler.getTenantId().toString());
+    }
+
+    /**
+     * renders the marker where the tenant id belongs, everything else is delegated.
+     */
+    private static final class MarkerTenantLineHandler implements TenantLineHandler {
+
+        private final TenantLineHandler delegate;
+
+        private MarkerTenantLineHandler(TenantLineHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Expression getTenantId() {
+            return new Column(TENANT_ID_MARKER);
+        }
+
+        @Override
+        public String getTenantIdColumn() {
+            return delegate.getTenantIdColumn();
+        }
+
+        @Override
+        public boolean ignoreTable(String tableName) {
+            return delegate.ignoreTable(tableName);
+        }
+
+        @Override
+        public boolean ignoreInsert(List<Column> columns, String tenantIdColumn) {
+            return delegate.ignoreInsert(columns, tenantIdColumn);
+        }
+    }
+}
@@ -5,12 +5,12 @@ import java.util.List;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
 import net.sf.jsqlparser.schema.Column;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.context.TenantContext;
 
 /**
  * MyBatis-plus configuration, add pagination interceptor.
@@ -20,6 +20,11 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class MyBatisConfig {
 
+    /**
+     * max cached tenant statements per kind (select, insert/update/delete).
+     */
+    public static final long TENANT_SQL_CACHE_SIZE = 1024;
+
     /**
      * inject pagination interceptor.
      *
@@ -31,19 +36,17 @@ public class MyBatisConfig {
     }
 
     /**
-     * add interceptor.
+     * tenant of every statement, from the tenant context of the current thread.
      *
-     * @return MybatisPlusInterceptor
+     * @return tenant line handler
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
-        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
-        // TenantLineInnerInterceptor
-        interceptor.addInnerInterceptor(new TenantLineInnerInterceptor(new TenantLineHandler() {
+    public TenantLineHandler tenantLineHandler() {
+        return new TenantLineHandler() {
             @Override
             public Expression getTenantId() {
-                // 实际可以将TenantId放在threadLocale中(比如xxxxContext中)，并获取。
-                return new LongValue(1);
+                // TenantId放在threadLocal中(TenantContext)，由TenantFilter按请求设置
+                return new LongValue(TenantContext.getRequired());
             }
 
             @Override
@@ -60,7 +63,20 @@ public class MyBatisConfig {
             public boolean ignoreInsert(List<Column> columns, String tenantIdColumn) {
                 return TenantLineHandler.super.ignoreInsert(columns, tenantIdColumn);
             }
-        }));
+        };
+    }
+
+    /**
+     * add interceptor.
+     *
+     * @param tenantLineHandler tenant line handler
+     * @return MybatisPlusInterceptor
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor(TenantLineHandler tenantLineHandler) {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        // TenantLineInnerInterceptor, statements are parsed once and the tenant id is bound per execution
+        interceptor.addInnerInterceptor(new CachingTenantLineInnerInterceptor(tenantLineHandler, TENANT_SQL_CACHE_SIZE));
         // 如果用了分页插件注意先 add TenantLineInnerInterceptor 再 add PaginationInnerInterceptor
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor());
         return interceptor;
@@ -0,0 +1,41 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.context.TenantFilter;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.context.TenantTaskDecorator;
+
+/**
+ * Tenant configuration, resolve tenant per request and propagate it to async tasks.
+ *
+ * @author pdai
+ */
+@Configuration
+public class TenantConfig {
+
+    /**
+     * tenant filter, only for the apis that access tenant tables.
+     *
+     * @param defaultTenantId tenant of requests without header, null to reject them
+     * @return tenant filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(@Value("${tenant.default-id:#{null}}") Long defaultTenantId) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(defaultTenantId));
+        registration.addUrlPatterns("/user/*", "/role/*");
+        return registration;
+    }
+
+    /**
+     * task decorator, applied by spring boot to the application task executor (@Async).
+     *
+     * @return tenant task decorator
+     */
+    @Bean
+    public TenantTaskDecorator tenantTaskDecorator() {
+        return new TenantTaskDecorator();
+    }
+
+}
@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.constants;
+
+/**
+ * how the total of a page is counted.
+ *
+ * @author pdai
+ */
+public enum CountMode {
+
+    /**
+     * count query per page.
+     */
+    EXACT,
+
+    /**
+     * exact count of the tenant cached for a while for unfiltered lists, exact count otherwise.
+     */
+    APPROXIMATE,
+
+    /**
+     * no count, one more row tells if there is a next page.
+     */
+    NONE
+
+}
@@ -0,0 +1,52 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.context;
+
+/**
+ * tenant of the current thread, set by {@link TenantFilter} per request and copied to async tasks by
+ * {@link TenantTaskDecorator}.
+ *
+ * @author pdai
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<Long> TENANT_ID = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return tenant id, null if not set
+     */
+    public static Long get() {
+        return TENANT_ID.get();
+    }
+
+    /**
+     * @return tenant id
+     * @throws IllegalStateException if not set, queries must never run without tenant condition
+     */
+    public static Long getRequired() {
+        Long tenantId = TENANT_ID.get();
+        if (tenantId == null) {
+            throw new IllegalStateException("no tenant in context");
+        }
+        return tenantId;
+    }
+
+    /**
+     * @param tenantId tenant id, null to clear
+     */
+    public static void set(Long tenantId) {
+        if (tenantId == null) {
+            TENANT_ID.remove();
+        } else {
+            TENANT_ID.set(tenantId);
+        }
+    }
+
+    /**
+     * clear tenant of the current thread.
+     */
+    public static void clear() {
+        TENANT_ID.remove();
+    }
+}
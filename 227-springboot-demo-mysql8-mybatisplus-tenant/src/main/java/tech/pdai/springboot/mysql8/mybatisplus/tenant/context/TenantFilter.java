@@ -0,0 +1,62 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.context;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * resolves the tenant of a request from header {@link #TENANT_HEADER}, or the default tenant if the header is absent.
+ *
+ * @author pdai
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    /**
+     * tenant header.
+     */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final Long defaultTenantId;
+
+    /**
+     * init.
+     *
+     * @param defaultTenantId2 tenant of requests without header, null to reject them
+     */
+    public TenantFilter(final Long defaultTenantId2) {
+        this.defaultTenantId = defaultTenantId2;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(TENANT_HEADER);
+        Long tenantId;
+        if (StringUtils.hasText(header)) {
+            try {
+                tenantId = Long.valueOf(header.trim());
+            } catch (NumberFormatException e) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "invalid " + TENANT_HEADER);
+                return;
+            }
+        } else if (defaultTenantId != null) {
+            tenantId = defaultTenantId;
+        } else {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "missing " + TENANT_HEADER);
+            return;
+        }
+        TenantContext.set(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
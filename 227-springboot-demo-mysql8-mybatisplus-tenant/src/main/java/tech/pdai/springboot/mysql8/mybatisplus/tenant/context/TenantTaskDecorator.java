@@ -0,0 +1,25 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * copies the tenant of the submitting thread to the task, the tenant of the pool thread is restored afterwards.
+ *
+ * @author pdai
+ */
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long tenantId = TenantContext.get();
+        return () -> {
+            Long previous = TenantContext.get();
+            TenantContext.set(tenantId);
+            try {
+                runnable.run();
+            } finally {
+                TenantContext.set(previous);
+            }
+        };
+    }
+}
@@ -10,9 +10,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.constants.CountMode;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.response.PageResult;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.response.ResponseResult;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.service.IUserService;
 
@@ -60,4 +63,20 @@ public class UserController {
     public ResponseResult<List<User>> list(UserQueryBean userQueryBean) {
         return ResponseResult.success(userService.findList(userQueryBean));
     }
+
+    /**
+     * @param userQueryBean query
+     * @param current       page number, from 1
+     * @param size          page size
+     * @param countMode     EXACT counts every page, APPROXIMATE caches unfiltered counts, NONE skips counting
+     * @return user page
+     */
+    @ApiOperation("Query User Page")
+    @GetMapping("page")
+    public ResponseResult<PageResult<User>> page(UserQueryBean userQueryBean,
+                                                 @RequestParam(defaultValue = "1") long current,
+                                                 @RequestParam(defaultValue = "20") long size,
+                                                 @RequestParam(defaultValue = "EXACT") CountMode countMode) {
+        return ResponseResult.success(userService.findPage(userQueryBean, current, size, countMode));
+    }
 }
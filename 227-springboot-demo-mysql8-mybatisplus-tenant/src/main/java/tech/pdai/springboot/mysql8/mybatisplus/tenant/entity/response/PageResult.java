@@ -0,0 +1,47 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * offset pagination result.
+ *
+ * @author pdai
+ */
+@Data
+@Builder
+public class PageResult<T> {
+
+    /**
+     * records of current page.
+     */
+    private List<T> records;
+
+    /**
+     * page number, from 1.
+     */
+    private long current;
+
+    /**
+     * page size.
+     */
+    private long size;
+
+    /**
+     * total rows, null if not counted.
+     */
+    private Long total;
+
+    /**
+     * total is an estimate.
+     */
+    private boolean approximate;
+
+    /**
+     * has next page.
+     */
+    private boolean hasNext;
+
+}
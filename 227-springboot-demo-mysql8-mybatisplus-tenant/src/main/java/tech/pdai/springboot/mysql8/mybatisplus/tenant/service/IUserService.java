@@ -3,8 +3,10 @@ package tech.pdai.springboot.mysql8.mybatisplus.tenant.service;
 import java.util.List;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.constants.CountMode;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.response.PageResult;
 
 /**
  * @author pdai
@@ -13,4 +15,6 @@ public interface IUserService extends IService<User> {
 
     List<User> findList(UserQueryBean userQueryBean);
 
+    PageResult<User> findPage(UserQueryBean userQueryBean, long current, long size, CountMode countMode);
+
 }
@@ -1,19 +1,89 @@
 package tech.pdai.springboot.mysql8.mybatisplus.tenant.service.impl;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.constants.CountMode;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.context.TenantContext;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.dao.IUserDao;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.User;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.query.UserQueryBean;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.entity.response.PageResult;
 import tech.pdai.springboot.mysql8.mybatisplus.tenant.service.IUserService;
 
 @Service
 public class UserDoServiceImpl extends ServiceImpl<IUserDao, User> implements IUserService {
 
+    /**
+     * max users of one page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * unfiltered user count per tenant, table statistics would count all tenants.
+     */
+    private final Cache<Long, Long> userCounts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(60, TimeUnit.SECONDS)
+            .build();
+
     @Override
     public List<User> findList(UserQueryBean userQueryBean) {
         return baseMapper.findList(userQueryBean);
     }
+
+    @Override
+    public PageResult<User> findPage(UserQueryBean userQueryBean, long current, long size, CountMode countMode) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (current < 1 || current > Long.MAX_VALUE / size) {
+            throw new IllegalArgumentException("current must be positive and its offset fit in a long");
+        }
+        long offset = (current - 1) * size;
+        List<Long> ids;
+        Long total = null;
+        boolean approximate = false;
+        boolean hasNext;
+        if (countMode == CountMode.NONE) {
+            // one more row tells if there is a next page
+            ids = baseMapper.findSliceIds(userQueryBean, offset, size + 1);
+            hasNext = ids.size() > size;
+            if (hasNext) {
+                ids = ids.subList(0, ids.size() - 1);
+            }
+        } else {
+            boolean cacheable = countMode == CountMode.APPROXIMATE && isUnfiltered(userQueryBean);
+            Long cachedTotal = cacheable ? userCounts.getIfPresent(TenantContext.getRequired()) : null;
+            // ids are paged on tb_user alone, so the interceptor counts tb_user without order by and joins
+            Page<Long> page = new Page<>(current, size, cachedTotal == null);
+            ids = baseMapper.findPageIds(page, userQueryBean).getRecords();
+            approximate = cachedTotal != null;
+            total = approximate ? cachedTotal : page.getTotal();
+            if (cacheable && !approximate) {
+                userCounts.put(TenantContext.getRequired(), total);
+            }
+            hasNext = approximate ? ids.size() == size : offset + ids.size() < total;
+        }
+        return PageResult.<User>builder()
+                .records(ids.isEmpty() ? Collections.emptyList() : baseMapper.findByIds(ids))
+                .current(current)
+                .size(size)
+                .total(total)
+                .approximate(approximate)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private boolean isUnfiltered(UserQueryBean userQueryBean) {
+        return !StringUtils.hasText(userQueryBean.getUserName()) && !StringUtils.hasText(userQueryBean.getDescription())
+                && !StringUtils.hasText(userQueryBean.getPhoneNumber()) && !StringUtils.hasText(userQueryBean.getEmail());
+    }
 }
@@ -0,0 +1,129 @@
+package tech.pdai.springboot.mysql8.mybatisplus.tenant.config;
+
+import java.lang.management.ManagementFactory;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pdai.springboot.mysql8.mybatisplus.tenant.context.TenantContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * adds the tenant condition to statements shaped like those of {@code IUserDao} through
+ * {@link TenantLineInnerInterceptor} and {@link CachingTenantLineInnerInterceptor}. Only the sql rewrite is timed,
+ * without database, so the numbers are the overhead the interceptor adds to every query.
+ *
+ * @author pdai
+ */
+@Slf4j
+class CachingTenantLineInnerInterceptorTest {
+
+    private static final int QUERIES = 20_000;
+
+    private static final int TENANTS = 10;
+
+    /**
+     * selects by id, by ids with roles, page of ids and its count.
+     */
+    private static final String[] SELECTS = {
+            "SELECT id,user_name,password,email,phone_number,description,create_time,update_time FROM tb_user"
+                    + " WHERE id=?",
+            "select u.id, u.password, u.user_name, u.email, u.phone_number, u.description, u.create_time,"
+                    + " u.update_time, r.id rid, r.name rname, r.role_key, r.description rdescription,"
+                    + " r.create_time rcreate_time, r.update_time rupdate_time from tb_user u"
+                    + " left join tb_user_role ur on u.id=ur.user_id left join tb_role r on ur.role_id=r.id"
+                    + " where u.id in (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) order by u.id",
+            "select u.id from tb_user u where u.id != 0 AND u.user_name like concat('%', ?, '%') order by u.id"
+                    + " LIMIT ?",
+            "SELECT COUNT(*) AS total FROM tb_user u WHERE u.id != 0 AND u.user_name like concat('%', ?, '%')"};
+
+    /**
+     * update by id.
+     */
+    private static final String[] UPDATES = {
+            "UPDATE tb_user SET user_name=?, email=?, phone_number=?, description=?, update_time=? WHERE id=?"};
+
+    private final TenantLineHandler tenantLineHandler = new MyBatisConfig().tenantLineHandler();
+
+    private final TenantLineInnerInterceptor parsing = new TenantLineInnerInterceptor(tenantLineHandler);
+
+    private final TenantLineInnerInterceptor caching = new CachingTenantLineInnerInterceptor(tenantLineHandler,
+            MyBatisConfig.TENANT_SQL_CACHE_SIZE);
+
+    /**
+     * keeps the rewritten sql alive, so the calls are not optimized away.
+     */
+    private int sink;
+
+    @AfterEach
+    public void cleanUp() {
+        TenantContext.clear();
+    }
+
+    @Test
+    public void cachedSqlIsSameAsParsedForEveryTenant() {
+        // twice, the second round is answered from the cache
+        for (int round = 0; round < 2; round++) {
+            for (long tenant = 1; tenant <= TENANTS; tenant++) {
+                TenantContext.set(tenant);
+                for (String sql : SELECTS) {
+                    assertEquals(parsing.parserSingle(sql, null), caching.parserSingle(sql, null));
+                }
+                for (String sql : UPDATES) {
+                    assertEquals(parsing.parserMulti(sql, null), caching.parserMulti(sql, null));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cachingIsCheaperThanParsing() {
+        // warm up jit of both before either is measured
+        rewrite(parsing, QUERIES / 10);
+        rewrite(caching, QUERIES / 10);
+
+        long[] parsingCost = measure("TenantLineInnerInterceptor", parsing);
+        long[] cachingCost = measure("CachingTenantLineInnerInterceptor", caching);
+
+        assertTrue(cachingCost[0] < parsingCost[0], "caching " + cachingCost[0] + " ns, parsing "
+                + parsingCost[0] + " ns");
+        assertTrue(cachingCost[1] < parsingCost[1], "caching " + cachingCost[1] + " bytes, parsing "
+                + parsingCost[1] + " bytes");
+        log.debug("sink {}", sink);
+    }
+
+    /**
+     * @return ns/query and bytes/query
+     */
+    private long[] measure(String name, TenantLineInnerInterceptor interceptor) {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        rewrite(interceptor, QUERIES);
+        long nanos = (System.nanoTime() - start) / QUERIES;
+        bytes = (allocatedBytes() - bytes) / QUERIES;
+        log.info("{} queries of {} tenants by {}: {} ns/query, {} bytes/query", QUERIES, TENANTS, name, nanos,
+                bytes);
+        return new long[]{nanos, bytes};
+    }
+
+    private void rewrite(TenantLineInnerInterceptor interceptor, int queries) {
+        int statements = SELECTS.length + UPDATES.length;
+        for (int i = 0; i < queries; i++) {
+            TenantContext.set((long) (i % TENANTS + 1));
+            int statement = i % statements;
+            String sql = statement < SELECTS.length ? interceptor.parserSingle(SELECTS[statement], null)
+                    : interceptor.parserMulti(UPDATES[statement - SELECTS.length], null);
+            sink += sql.length();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
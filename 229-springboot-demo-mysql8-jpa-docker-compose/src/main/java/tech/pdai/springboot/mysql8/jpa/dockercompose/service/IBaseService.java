@@ -19,6 +19,15 @@ public interface IBaseService<T, I extends Serializable> {
      */
     T find(I id);
 
+    /**
+     * find with fetch plan.
+     *
+     * @param id          id
+     * @param entityGraph entity graph name
+     * @return T
+     */
+    T find(I id, String entityGraph);
+
     /**
      * @return List
      */
@@ -49,6 +58,16 @@ public interface IBaseService<T, I extends Serializable> {
      */
     Page<T> findAll(Specification<T> spec, Pageable pageable);
 
+    /**
+     * find page with fetch plan.
+     *
+     * @param spec        spec
+     * @param pageable    pageable
+     * @param entityGraph entity graph name
+     * @return Page
+     */
+    Page<T> findAll(Specification<T> spec, Pageable pageable, String entityGraph);
+
     /**
      * @param spec spec
      * @return T
@@ -1,5 +1,29 @@
 use test_db;
 
+--
+-- Table structure for table `tb_id_generator`
+--
+
+DROP TABLE IF EXISTS `tb_id_generator`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!40101 SET character_set_client = utf8 */;
+CREATE TABLE `tb_id_generator` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `tb_id_generator`
+--
+
+LOCK TABLES `tb_id_generator` WRITE;
+/*!40000 ALTER TABLE `tb_id_generator` DISABLE KEYS */;
+INSERT INTO `tb_id_generator` VALUES ('tb_role',2),('tb_user',2);
+/*!40000 ALTER TABLE `tb_id_generator` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `tb_role`
 --
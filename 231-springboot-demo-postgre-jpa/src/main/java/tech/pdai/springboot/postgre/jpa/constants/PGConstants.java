@@ -6,9 +6,24 @@ package tech.pdai.springboot.postgre.jpa.constants;
 public final class PGConstants {
 
     /**
-     * unique id generator class.
+     * postgres sequence id generator class, used with pooled-lo optimizer.
      */
-    public static final String ID_GENERATOR_CONFIG = "org.hibernate.id.IncrementGenerator";
+    public static final String ID_GENERATOR_SEQUENCE = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+
+    /**
+     * snowflake id generator class, no db round trip and unique across instances by worker id.
+     */
+    public static final String ID_GENERATOR_SNOWFLAKE = "tech.pdai.springboot.postgre.jpa.id.SnowflakeIdGenerator";
+
+    /**
+     * sequence optimizer, allocates a block of ids per nextval.
+     */
+    public static final String ID_GENERATOR_OPTIMIZER = "pooled-lo";
+
+    /**
+     * id block size, must be equal to increment of sequence.
+     */
+    public static final String ID_GENERATOR_INCREMENT = "50";
 
     /**
      * id generator.
@@ -0,0 +1,60 @@
+package tech.pdai.springboot.postgre.jpa.controller;
+
+import java.util.List;
+
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.pdai.springboot.postgre.jpa.constants.LoadMode;
+import tech.pdai.springboot.postgre.jpa.entity.Role;
+import tech.pdai.springboot.postgre.jpa.entity.param.UserLoadParam;
+import tech.pdai.springboot.postgre.jpa.entity.response.BulkLoadResult;
+import tech.pdai.springboot.postgre.jpa.entity.response.ResponseResult;
+import tech.pdai.springboot.postgre.jpa.service.IBulkLoadService;
+
+/**
+ * @author pdai
+ */
+@RestController
+@RequestMapping("/bulk")
+public class BulkLoadController {
+
+    @Autowired
+    private IBulkLoadService bulkLoadService;
+
+    /**
+     * @param users users with password and role ids
+     * @return load result
+     */
+    @ApiOperation("Bulk Load Users by COPY")
+    @PostMapping("user")
+    public ResponseResult<BulkLoadResult> loadUsers(@RequestBody List<UserLoadParam> users) {
+        return ResponseResult.success(bulkLoadService.loadUsers(users));
+    }
+
+    /**
+     * @param roles roles
+     * @return load result
+     */
+    @ApiOperation("Bulk Load Roles by COPY")
+    @PostMapping("role")
+    public ResponseResult<BulkLoadResult> loadRoles(@RequestBody List<Role> roles) {
+        return ResponseResult.success(bulkLoadService.loadRoles(roles));
+    }
+
+    /**
+     * @param count rows
+     * @param mode  COPY or ORM
+     * @return load result
+     */
+    @ApiOperation("Seed Generated Users")
+    @PostMapping("user/seed")
+    public ResponseResult<BulkLoadResult> seedUsers(@RequestParam int count,
+                                                    @RequestParam(defaultValue = "COPY") LoadMode mode) {
+        return ResponseResult.success(bulkLoadService.seedUsers(count, mode));
+    }
+}
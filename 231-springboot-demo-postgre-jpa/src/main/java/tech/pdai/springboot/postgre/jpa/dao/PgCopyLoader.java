@@ -0,0 +1,191 @@
+package tech.pdai.springboot.postgre.jpa.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams rows into a table through {@code COPY ... FROM STDIN} in csv format.
+ *
+ * <p>A producer thread maps and encodes rows into chunks on a bounded queue while the calling thread writes
+ * them to the connection, so encoding overlaps with network io and memory stays bounded for any source size.
+ * The row mapper runs on the producer thread and must not use the connection, which is busy with the copy.
+ *
+ * @param <T> row type
+ * @author pdai
+ */
+public class PgCopyLoader<T> {
+
+    /**
+     * end of rows marker.
+     */
+    private static final byte[] END = new byte[0];
+
+    /**
+     * copy statement.
+     */
+    private final String copySql;
+
+    /**
+     * row to column values, in column order.
+     */
+    private final Function<? super T, Object[]> rowMapper;
+
+    /**
+     * max chunks waiting to be written.
+     */
+    private final int queueCapacity;
+
+    /**
+     * rows per chunk.
+     */
+    private final int chunkRows;
+
+    /**
+     * init.
+     *
+     * @param table         table
+     * @param columns       columns
+     * @param rowMapper     row to column values
+     * @param queueCapacity max chunks waiting to be written
+     * @param chunkRows     rows per chunk
+     */
+    public PgCopyLoader(String table, String[] columns, Function<? super T, Object[]> rowMapper,
+                        int queueCapacity, int chunkRows) {
+        this.copySql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        this.rowMapper = rowMapper;
+        this.queueCapacity = queueCapacity;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * copy all rows of source, the caller owns the connection and its transaction.
+     *
+     * @param connection connection
+     * @param source     rows
+     * @return rows copied
+     * @throws SQLException sql exception
+     */
+    public long load(Connection connection, Iterator<? extends T> source) throws SQLException {
+        BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        Thread producer = new Thread(() -> produce(source, queue, failure), "pg-copy-producer");
+        producer.setDaemon(true);
+        producer.start();
+        try {
+            byte[] chunk;
+            while ((chunk = queue.take()) != END) {
+                copyIn.writeToCopy(chunk, 0, chunk.length);
+            }
+            Throwable cause = failure.get();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause != null) {
+                throw new SQLException("failed to produce rows for " + copySql, cause);
+            }
+            return copyIn.endCopy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while running " + copySql, e);
+        } finally {
+            producer.interrupt();
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * @return copy statement
+     */
+    public String getCopySql() {
+        return copySql;
+    }
+
+    private void produce(Iterator<? extends T> source, BlockingQueue<byte[]> queue,
+                         AtomicReference<Throwable> failure) {
+        try {
+            StringBuilder buffer = new StringBuilder();
+            int rows = 0;
+            while (source.hasNext()) {
+                appendRow(buffer, rowMapper.apply(source.next()));
+                if (++rows == chunkRows) {
+                    queue.put(buffer.toString().getBytes(StandardCharsets.UTF_8));
+                    buffer.setLength(0);
+                    rows = 0;
+                }
+            }
+            if (rows > 0) {
+                queue.put(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (InterruptedException e) {
+            // consumer is gone, nobody is waiting for the end marker
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable e) {
+            // errors too, the consumer holds the connection and its transaction until the end marker
+            failure.set(e);
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void appendRow(StringBuilder buffer, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendValue(buffer, values[i]);
+        }
+        buffer.append('\n');
+    }
+
+    private static void appendValue(StringBuilder buffer, Object value) {
+        if (value == null) {
+            // unquoted empty is null in csv format
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            buffer.append(value);
+        } else if (value instanceof LocalDateTime) {
+            buffer.append(toTimestampZ((LocalDateTime) value));
+        } else {
+            String text = value.toString();
+            buffer.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+    }
+
+    /**
+     * local date time is read in the jvm default zone, the same as binding {@link Timestamp#valueOf(LocalDateTime)}.
+     *
+     * @param value local date time
+     * @return timestamptz text
+     */
+    private static String toTimestampZ(LocalDateTime value) {
+        return Timestamp.valueOf(value).toInstant().toString();
+    }
+
+}
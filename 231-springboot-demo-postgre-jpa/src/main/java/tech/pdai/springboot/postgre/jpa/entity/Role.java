@@ -12,6 +12,8 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import tech.pdai.springboot.postgre.jpa.constants.PGConstants;
 
 /**
@@ -30,7 +32,10 @@ public class Role implements BaseEntity {
     @Id
     @Column(name = "id", nullable = false)
     @GeneratedValue(generator = PGConstants.ID_GENERATOR)
-    @GenericGenerator(name = PGConstants.ID_GENERATOR, strategy = PGConstants.ID_GENERATOR_CONFIG)
+    @GenericGenerator(name = PGConstants.ID_GENERATOR, strategy = PGConstants.ID_GENERATOR_SEQUENCE, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "seq_tb_role"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = PGConstants.ID_GENERATOR_OPTIMIZER),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = PGConstants.ID_GENERATOR_INCREMENT)})
     private Long id;
 
     /**
@@ -0,0 +1,52 @@
+package tech.pdai.springboot.postgre.jpa.entity.param;
+
+import java.util.Set;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+/**
+ * user row of a bulk load, unlike {@link tech.pdai.springboot.postgre.jpa.entity.User} it carries the password.
+ *
+ * @author pdai
+ */
+@Data
+@ApiModel("UserLoad")
+public class UserLoadParam {
+
+    /**
+     * user id, generated if missing.
+     */
+    private Long id;
+
+    /**
+     * username, required.
+     */
+    private String userName;
+
+    /**
+     * user pwd, required.
+     */
+    private String password;
+
+    /**
+     * email.
+     */
+    private String email;
+
+    /**
+     * phoneNumber.
+     */
+    private long phoneNumber;
+
+    /**
+     * description.
+     */
+    private String description;
+
+    /**
+     * ids of existing roles, copied into tb_user_role.
+     */
+    private Set<Long> roleIds;
+
+}
@@ -0,0 +1,50 @@
+package tech.pdai.springboot.postgre.jpa.entity.response;
+
+import lombok.Builder;
+import lombok.Data;
+import tech.pdai.springboot.postgre.jpa.constants.LoadMode;
+
+/**
+ * @author pdai
+ */
+@Data
+@Builder
+public class BulkLoadResult {
+
+    /**
+     * load path.
+     */
+    private LoadMode mode;
+
+    /**
+     * rows loaded.
+     */
+    private long rows;
+
+    /**
+     * elapsed millis.
+     */
+    private long millis;
+
+    /**
+     * rows per second.
+     */
+    private long rowsPerSecond;
+
+    /**
+     * @param mode        load path
+     * @param rows        rows loaded
+     * @param startNanos  start of load, {@link System#nanoTime()}
+     * @return result
+     */
+    public static BulkLoadResult of(LoadMode mode, long rows, long startNanos) {
+        long nanos = Math.max(System.nanoTime() - startNanos, 1L);
+        return BulkLoadResult.builder()
+                .mode(mode)
+                .rows(rows)
+                .millis(nanos / 1_000_000L)
+                .rowsPerSecond(rows * 1_000_000_000L / nanos)
+                .build();
+    }
+
+}
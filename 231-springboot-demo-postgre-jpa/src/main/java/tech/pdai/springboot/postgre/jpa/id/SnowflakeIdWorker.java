@@ -0,0 +1,115 @@
+package tech.pdai.springboot.postgre.jpa.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * lock-free snowflake id worker: timestamp | worker id | sequence.
+ *
+ * <p>Timestamp and sequence are packed in one {@link AtomicLong} and advanced by CAS. If the
+ * sequence of current millisecond is exhausted or the clock moves backwards, the worker keeps
+ * counting on the last timestamp instead of blocking, so ids stay unique and increasing.
+ *
+ * @author pdai
+ */
+public class SnowflakeIdWorker {
+
+    /**
+     * default epoch, 2021-01-01 00:00:00 UTC.
+     */
+    public static final long DEFAULT_EPOCH = 1609459200000L;
+
+    /**
+     * default worker id bits.
+     */
+    public static final int DEFAULT_WORKER_ID_BITS = 10;
+
+    /**
+     * default sequence bits.
+     */
+    public static final int DEFAULT_SEQUENCE_BITS = 12;
+
+    /**
+     * epoch in millis.
+     */
+    private final long epoch;
+
+    /**
+     * worker id.
+     */
+    private final long workerId;
+
+    /**
+     * worker id shift.
+     */
+    private final int workerIdShift;
+
+    /**
+     * timestamp shift.
+     */
+    private final int timestampShift;
+
+    /**
+     * sequence bits.
+     */
+    private final int sequenceBits;
+
+    /**
+     * sequence mask.
+     */
+    private final long sequenceMask;
+
+    /**
+     * (timestamp << sequenceBits) | sequence of last generated id.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * init.
+     *
+     * @param workerId     worker id, unique per instance
+     * @param workerIdBits worker id bits
+     * @param sequenceBits sequence bits
+     * @param epoch        epoch in millis
+     */
+    public SnowflakeIdWorker(long workerId, int workerIdBits, int sequenceBits, long epoch) {
+        if (workerIdBits <= 0 || sequenceBits <= 0 || workerIdBits + sequenceBits >= 32) {
+            throw new IllegalArgumentException("invalid bits, workerIdBits=" + workerIdBits
+                    + ", sequenceBits=" + sequenceBits);
+        }
+        long maxWorkerId = ~(-1L << workerIdBits);
+        if (workerId < 0 || workerId > maxWorkerId) {
+            throw new IllegalArgumentException("worker id must be between 0 and " + maxWorkerId);
+        }
+        this.epoch = epoch;
+        this.workerId = workerId;
+        this.sequenceBits = sequenceBits;
+        this.sequenceMask = ~(-1L << sequenceBits);
+        this.workerIdShift = sequenceBits;
+        this.timestampShift = sequenceBits + workerIdBits;
+    }
+
+    /**
+     * @return next id
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> sequenceBits;
+            long now = System.currentTimeMillis() - epoch;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << sequenceBits;
+            } else if ((current & sequenceMask) < sequenceMask) {
+                next = current + 1;
+            } else {
+                next = (lastTimestamp + 1) << sequenceBits;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> sequenceBits) << timestampShift)
+                        | (workerId << workerIdShift)
+                        | (next & sequenceMask);
+            }
+        }
+    }
+
+}
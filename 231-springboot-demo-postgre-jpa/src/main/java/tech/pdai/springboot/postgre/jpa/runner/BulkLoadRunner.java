@@ -0,0 +1,66 @@
+package tech.pdai.springboot.postgre.jpa.runner;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import tech.pdai.springboot.postgre.jpa.constants.LoadMode;
+import tech.pdai.springboot.postgre.jpa.entity.response.BulkLoadResult;
+import tech.pdai.springboot.postgre.jpa.service.IBulkLoadService;
+
+/**
+ * Seeds generated users on startup, e.g. {@code --bulk.seed=100000 --bulk.mode=COPY,ORM}.
+ * Every listed mode loads its own rows and the rows/sec of each is logged.
+ *
+ * @author pdai
+ */
+@Slf4j
+@Component
+public class BulkLoadRunner implements ApplicationRunner {
+
+    /**
+     * rows option.
+     */
+    public static final String SEED_OPTION = "bulk.seed";
+
+    /**
+     * modes option.
+     */
+    public static final String MODE_OPTION = "bulk.mode";
+
+    /**
+     * bulk load service.
+     */
+    private final IBulkLoadService bulkLoadService;
+
+    /**
+     * init.
+     *
+     * @param bulkLoadService bulk load service
+     */
+    public BulkLoadRunner(IBulkLoadService bulkLoadService) {
+        this.bulkLoadService = bulkLoadService;
+    }
+
+    /**
+     * @param args application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> seed = args.getOptionValues(SEED_OPTION);
+        if (seed == null || seed.isEmpty()) {
+            return;
+        }
+        int count = Integer.parseInt(seed.get(0));
+        List<String> modes = args.getOptionValues(MODE_OPTION);
+        String mode = modes == null || modes.isEmpty() ? LoadMode.COPY.name() : modes.get(0);
+        for (String name : mode.split(",")) {
+            BulkLoadResult result = bulkLoadService.seedUsers(count, LoadMode.valueOf(name.trim().toUpperCase()));
+            log.info("bulk load {} rows by {} in {} ms, {} rows/sec", result.getRows(), result.getMode(),
+                    result.getMillis(), result.getRowsPerSecond());
+        }
+    }
+
+}
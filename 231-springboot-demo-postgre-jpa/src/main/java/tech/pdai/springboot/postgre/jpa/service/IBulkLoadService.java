@@ -0,0 +1,40 @@
+package tech.pdai.springboot.postgre.jpa.service;
+
+import java.util.List;
+
+import tech.pdai.springboot.postgre.jpa.constants.LoadMode;
+import tech.pdai.springboot.postgre.jpa.entity.Role;
+import tech.pdai.springboot.postgre.jpa.entity.param.UserLoadParam;
+import tech.pdai.springboot.postgre.jpa.entity.response.BulkLoadResult;
+
+/**
+ * @author pdai
+ */
+public interface IBulkLoadService {
+
+    /**
+     * copy users and their role links, missing ids are generated.
+     *
+     * @param users users, user name and password are required
+     * @return result, rows are the users copied
+     */
+    BulkLoadResult loadUsers(List<UserLoadParam> users);
+
+    /**
+     * copy roles, missing ids are generated.
+     *
+     * @param roles roles
+     * @return result
+     */
+    BulkLoadResult loadRoles(List<Role> roles);
+
+    /**
+     * load generated users through the given path, used to compare COPY with the orm.
+     *
+     * @param count rows
+     * @param mode  load path
+     * @return result
+     */
+    BulkLoadResult seedUsers(int count, LoadMode mode);
+
+}
@@ -0,0 +1,251 @@
+package tech.pdai.springboot.postgre.jpa.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.postgre.jpa.constants.LoadMode;
+import tech.pdai.springboot.postgre.jpa.dao.PgCopyLoader;
+import tech.pdai.springboot.postgre.jpa.entity.Role;
+import tech.pdai.springboot.postgre.jpa.entity.User;
+import tech.pdai.springboot.postgre.jpa.entity.param.UserLoadParam;
+import tech.pdai.springboot.postgre.jpa.entity.response.BulkLoadResult;
+import tech.pdai.springboot.postgre.jpa.service.IBulkLoadService;
+import tech.pdai.springboot.postgre.jpa.service.IUserService;
+
+/**
+ * COPY runs on the connection of the current jpa transaction, so a load is all or nothing.
+ *
+ * @author pdai
+ */
+@Service
+@Transactional
+public class BulkLoadServiceImpl implements IBulkLoadService {
+
+    /**
+     * max encoded chunks waiting for the connection.
+     */
+    private static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * rows per chunk.
+     */
+    private static final int CHUNK_ROWS = 1000;
+
+    /**
+     * user copy loader.
+     */
+    private static final PgCopyLoader<User> USER_LOADER = new PgCopyLoader<>("tb_user",
+            new String[]{"id", "user_name", "password", "email", "phone_number", "description", "create_time",
+                    "update_time"},
+            user -> new Object[]{user.getId(), user.getUserName(), user.getPassword(), user.getEmail(),
+                    user.getPhoneNumber(), user.getDescription(), user.getCreateTime(), user.getUpdateTime()},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * role copy loader.
+     */
+    private static final PgCopyLoader<Role> ROLE_LOADER = new PgCopyLoader<>("tb_role",
+            new String[]{"id", "name", "role_key", "description", "create_time", "update_time"},
+            role -> new Object[]{role.getId(), role.getName(), role.getRoleKey(), role.getDescription(),
+                    role.getCreateTime(), role.getUpdateTime()},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * user role link copy loader, a link is {user id, role id}.
+     */
+    private static final PgCopyLoader<long[]> USER_ROLE_LOADER = new PgCopyLoader<>("tb_user_role",
+            new String[]{"user_id", "role_id"},
+            link -> new Object[]{link[0], link[1]},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * data source.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * user service, the orm path.
+     */
+    private final IUserService userService;
+
+    /**
+     * init.
+     *
+     * @param dataSource  data source
+     * @param userService user service
+     */
+    public BulkLoadServiceImpl(DataSource dataSource, IUserService userService) {
+        this.dataSource = dataSource;
+        this.userService = userService;
+    }
+
+    /**
+     * ids are generated up front, the role links need them and are copied after the users.
+     *
+     * @param users users
+     * @return result
+     */
+    @Override
+    public BulkLoadResult loadUsers(List<UserLoadParam> users) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = idGenerator(session, User.class);
+        List<long[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserLoadParam user = users.get(i);
+            if (!StringUtils.hasText(user.getUserName()) || !StringUtils.hasText(user.getPassword())) {
+                throw new IllegalArgumentException("userName and password are required, missing in user " + i);
+            }
+            if (user.getId() == null) {
+                user.setId((Long) idGenerator.generate(session, new User()));
+            }
+            if (user.getRoleIds() != null) {
+                for (Long roleId : user.getRoleIds()) {
+                    if (roleId == null) {
+                        throw new IllegalArgumentException("null role id in user " + i);
+                    }
+                    userRoles.add(new long[]{user.getId(), roleId});
+                }
+            }
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long rows = copy(USER_LOADER, users.stream().map(user -> toUser(user, now)).iterator());
+        copy(USER_ROLE_LOADER, userRoles.iterator());
+        return BulkLoadResult.of(LoadMode.COPY, rows, start);
+    }
+
+    /**
+     * role ids come from a sequence, they are allocated before the copy takes over the connection.
+     *
+     * @param roles roles
+     * @return result
+     */
+    @Override
+    public BulkLoadResult loadRoles(List<Role> roles) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = idGenerator(session, Role.class);
+        for (Role role : roles) {
+            if (role.getId() == null) {
+                role.setId((Long) idGenerator.generate(session, role));
+            }
+        }
+        long start = System.nanoTime();
+        return BulkLoadResult.of(LoadMode.COPY, copy(ROLE_LOADER, roles.iterator()), start);
+    }
+
+    /**
+     * @param count rows
+     * @param mode  load path
+     * @return result
+     */
+    @Override
+    public BulkLoadResult seedUsers(int count, LoadMode mode) {
+        long start = System.nanoTime();
+        if (mode == LoadMode.COPY) {
+            return BulkLoadResult.of(LoadMode.COPY, copyUsers(IntStream.range(0, count).mapToObj(this::sampleUser)
+                    .iterator()), start);
+        }
+        List<User> chunk = new ArrayList<>(CHUNK_ROWS);
+        for (int i = 0; i < count; i++) {
+            chunk.add(sampleUser(i));
+            if (chunk.size() == CHUNK_ROWS || i == count - 1) {
+                userService.save(chunk);
+                // detach each saved chunk, the persistence context would hold every seeded user otherwise
+                entityManager.flush();
+                entityManager.clear();
+                chunk.clear();
+            }
+        }
+        return BulkLoadResult.of(LoadMode.ORM, count, start);
+    }
+
+    /**
+     * user ids come from the snowflake generator, which needs no connection and is safe on the producer thread.
+     */
+    private long copyUsers(Iterator<User> users) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = idGenerator(session, User.class);
+        Iterator<User> withIds = new Iterator<User>() {
+            @Override
+            public boolean hasNext() {
+                return users.hasNext();
+            }
+
+            @Override
+            public User next() {
+                User user = users.next();
+                if (user.getId() == null) {
+                    user.setId((Long) idGenerator.generate(session, user));
+                }
+                return user;
+            }
+        };
+        return copy(USER_LOADER, withIds);
+    }
+
+    private <T> long copy(PgCopyLoader<T> loader, Iterator<T> rows) {
+        // flush pending orm writes first, they must not interleave with the copy stream
+        entityManager.flush();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return loader.load(connection, rows);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("bulk load", loader.getCopySql(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static IdentifierGenerator idGenerator(SharedSessionContractImplementor session, Class<?> entityClass) {
+        return session.getFactory().getMetamodel().entityPersister(entityClass).getIdentifierGenerator();
+    }
+
+    private User toUser(UserLoadParam param, LocalDateTime now) {
+        User user = new User();
+        user.setId(param.getId());
+        user.setUserName(param.getUserName());
+        user.setPassword(param.getPassword());
+        user.setEmail(param.getEmail());
+        user.setPhoneNumber(param.getPhoneNumber());
+        user.setDescription(param.getDescription());
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        return user;
+    }
+
+    private User sampleUser(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setUserName("bulk_user_" + i);
+        user.setPassword("bulk_password_" + i);
+        user.setEmail("bulk_user_" + i + "@pdai.tech");
+        user.setPhoneNumber(13_000_000_000L + i);
+        user.setDescription("seeded by bulk load");
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        return user;
+    }
+
+}
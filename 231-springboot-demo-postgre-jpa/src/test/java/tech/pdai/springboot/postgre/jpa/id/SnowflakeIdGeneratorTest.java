@@ -0,0 +1,47 @@
+package tech.pdai.springboot.postgre.jpa.id;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.type.LongType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * worker id settings of {@link SnowflakeIdGenerator}.
+ *
+ * @author pdai
+ */
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    public void missingWorkerIdFailsConfiguration() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().build();
+        try {
+            assertThrows(MappingException.class,
+                    () -> new SnowflakeIdGenerator().configure(LongType.INSTANCE, new Properties(), registry));
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    public void workerIdSettingIsUsed() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(SnowflakeIdGenerator.WORKER_ID_SETTING, "42").build();
+        try {
+            SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+            generator.configure(LongType.INSTANCE, new Properties(), registry);
+            long id = (Long) generator.generate(null, null);
+            assertEquals(42, (id >>> SnowflakeIdWorker.DEFAULT_SEQUENCE_BITS)
+                    & ~(-1L << SnowflakeIdWorker.DEFAULT_WORKER_ID_BITS));
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+}
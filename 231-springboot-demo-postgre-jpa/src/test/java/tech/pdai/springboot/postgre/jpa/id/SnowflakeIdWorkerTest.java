@@ -0,0 +1,118 @@
+package tech.pdai.springboot.postgre.jpa.id;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SnowflakeIdWorker} under concurrent callers.
+ *
+ * @author pdai
+ */
+@Slf4j
+class SnowflakeIdWorkerTest {
+
+    private static final int THREADS = 8;
+
+    private static final int IDS_PER_THREAD = 50_000;
+
+    /**
+     * a quarter of the 4096 ids per millisecond of the default sequence bits.
+     */
+    private static final long MIN_IDS_PER_SECOND = 1_000_000;
+
+    @Test
+    public void concurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        assertUniqueAndIncreasing(new SnowflakeIdWorker(7, SnowflakeIdWorker.DEFAULT_WORKER_ID_BITS,
+                SnowflakeIdWorker.DEFAULT_SEQUENCE_BITS, SnowflakeIdWorker.DEFAULT_EPOCH));
+    }
+
+    @Test
+    public void exhaustedSequenceKeepsIdsUniqueAndIncreasing() throws Exception {
+        // 4 ids per millisecond, so the worker runs ahead of the clock most of the time
+        assertUniqueAndIncreasing(new SnowflakeIdWorker(7, SnowflakeIdWorker.DEFAULT_WORKER_ID_BITS, 2,
+                SnowflakeIdWorker.DEFAULT_EPOCH));
+    }
+
+    @Test
+    public void concurrentThroughputIsNotBoundByContention() throws Exception {
+        SnowflakeIdWorker idWorker = new SnowflakeIdWorker(7, SnowflakeIdWorker.DEFAULT_WORKER_ID_BITS,
+                SnowflakeIdWorker.DEFAULT_SEQUENCE_BITS, SnowflakeIdWorker.DEFAULT_EPOCH);
+        // warm up jit before measuring
+        generate(idWorker);
+
+        long start = System.nanoTime();
+        generate(idWorker);
+        long idsPerSecond = THREADS * IDS_PER_THREAD * 1_000_000_000L / (System.nanoTime() - start);
+
+        assertTrue(idsPerSecond >= MIN_IDS_PER_SECOND, idsPerSecond + " ids/sec");
+        log.info("{} threads: {} ids/sec", THREADS, idsPerSecond);
+    }
+
+    @Test
+    public void idCarriesWorkerId() {
+        SnowflakeIdWorker idWorker = new SnowflakeIdWorker(1023, 10, 12, SnowflakeIdWorker.DEFAULT_EPOCH);
+        assertEquals(1023, (idWorker.nextId() >>> 12) & 1023);
+    }
+
+    @Test
+    public void workerIdOutOfRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdWorker(1024, 10, 12,
+                SnowflakeIdWorker.DEFAULT_EPOCH));
+    }
+
+    private static void assertUniqueAndIncreasing(SnowflakeIdWorker idWorker) throws Exception {
+        Set<Long> all = new HashSet<>(THREADS * IDS_PER_THREAD * 2);
+        for (long[] ids : generate(idWorker)) {
+            for (int j = 0; j < ids.length; j++) {
+                assertTrue(j == 0 || ids[j] > ids[j - 1], "ids of one thread must increase");
+                assertTrue(all.add(ids[j]), "duplicate id " + ids[j]);
+            }
+        }
+        assertEquals(THREADS * IDS_PER_THREAD, all.size());
+    }
+
+    /**
+     * @return ids of each thread, all threads start at once
+     */
+    private static List<long[]> generate(SnowflakeIdWorker idWorker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit((Callable<long[]>) () -> {
+                    start.await();
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int j = 0; j < ids.length; j++) {
+                        ids[j] = idWorker.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            List<long[]> ids = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                ids.add(future.get());
+            }
+            return ids;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package tech.pdai.springboot.postgre.jpa.jsonb;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.impl.BaseDaoImpl;
+
+/**
+ * @author pdai
+ */
+@SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = BaseDaoImpl.class)
+public class App {
+
+    public static void main(String[] args) {
+        SpringApplication.run(App.class, args);
+    }
+}
@@ -0,0 +1,36 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.config;
+
+import org.hibernate.dialect.PostgreSQL94Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the jsonb operators as functions so that criteria queries render {@code @>} and {@code @@},
+ * the operators supported by a {@code jsonb_path_ops} GIN index.
+ *
+ * @author pdai
+ */
+public class PostgreSQLJsonbDialect extends PostgreSQL94Dialect {
+
+    /**
+     * jsonb containment, {@code column @> fragment}.
+     */
+    public static final String JSONB_CONTAINS = "jsonb_contains_op";
+
+    /**
+     * jsonpath predicate, {@code column @@ path}, requires postgres 12+.
+     */
+    public static final String JSONB_PATH_MATCH = "jsonb_path_match_op";
+
+    /**
+     * init.
+     */
+    public PostgreSQLJsonbDialect() {
+        super();
+        registerFunction(JSONB_CONTAINS,
+                new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 @> cast(?2 as jsonb))"));
+        registerFunction(JSONB_PATH_MATCH,
+                new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 @@ cast(?2 as jsonpath))"));
+    }
+
+}
@@ -0,0 +1,44 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.constants;
+
+/**
+ * @author pdai
+ */
+public final class PGConstants {
+
+    /**
+     * postgres sequence id generator class, used with pooled-lo optimizer.
+     */
+    public static final String ID_GENERATOR_SEQUENCE = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+
+    /**
+     * snowflake id generator class, no db round trip and unique across instances by worker id.
+     */
+    public static final String ID_GENERATOR_SNOWFLAKE = "tech.pdai.springboot.postgre.jpa.jsonb.id.SnowflakeIdGenerator";
+
+    /**
+     * sequence optimizer, allocates a block of ids per nextval.
+     */
+    public static final String ID_GENERATOR_OPTIMIZER = "pooled-lo";
+
+    /**
+     * id block size, must be equal to increment of sequence.
+     */
+    public static final String ID_GENERATOR_INCREMENT = "50";
+
+    /**
+     * id generator.
+     */
+    public static final String ID_GENERATOR = "idGenerator";
+
+    /**
+     * postgres sql state of syntax errors, also raised by casting invalid jsonpath text.
+     */
+    public static final String SQL_STATE_SYNTAX_ERROR = "42601";
+
+    /**
+     * no instance.
+     */
+    private PGConstants() {
+    }
+
+}
@@ -0,0 +1,40 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.constants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author pdai
+ */
+@Getter
+@AllArgsConstructor
+public enum ResponseStatus {
+
+    SUCCESS("200", "success"),
+    FAIL("500", "failed"),
+
+    HTTP_STATUS_200("200", "ok"),
+    HTTP_STATUS_400("400", "request error"),
+    HTTP_STATUS_401("401", "no authentication"),
+    HTTP_STATUS_403("403", "no authorities"),
+    HTTP_STATUS_500("500", "server error");
+
+    public static final List<ResponseStatus> HTTP_STATUS_ALL = Collections.unmodifiableList(
+            Arrays.asList(HTTP_STATUS_200, HTTP_STATUS_400, HTTP_STATUS_401, HTTP_STATUS_403, HTTP_STATUS_500
+            ));
+
+    /**
+     * response code
+     */
+    private final String responseCode;
+
+    /**
+     * description.
+     */
+    private final String description;
+
+}
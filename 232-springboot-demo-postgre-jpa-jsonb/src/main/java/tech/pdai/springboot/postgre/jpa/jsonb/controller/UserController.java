@@ -0,0 +1,70 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.controller;
+
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.User;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.query.UserQueryBean;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.response.ResponseResult;
+import tech.pdai.springboot.postgre.jpa.jsonb.service.IUserService;
+
+/**
+ * @author pdai
+ */
+@RestController
+@RequestMapping("/user")
+public class UserController {
+
+    @Autowired
+    private IUserService userService;
+
+    /**
+     * @param user user param
+     * @return user
+     */
+    @ApiOperation("Add/Edit User")
+    @PostMapping("add")
+    public ResponseResult<User> add(User user) {
+        return ResponseResult.success(userService.saveOrUpdate(user));
+    }
+
+
+    /**
+     * @return user list
+     */
+    @ApiOperation("Query User One")
+    @GetMapping("edit/{userId}")
+    public ResponseResult<User> edit(@PathVariable("userId") Long userId) {
+        return ResponseResult.success(userService.find(userId, User.GRAPH_ROLES));
+    }
+
+    /**
+     * @return user list
+     */
+    @ApiOperation("Query User Page")
+    @GetMapping("list")
+    public ResponseResult<Page<User>> list(@RequestParam int pageSize, @RequestParam int pageNumber) {
+        return ResponseResult.success(userService.findPage(UserQueryBean.builder().build(), PageRequest.of(pageNumber, pageSize)));
+    }
+
+    /**
+     * @param attributes     json fragment the attributes contain, e.g. {"level":"vip"}
+     * @param attributesPath jsonpath predicate, e.g. $.age > 18
+     * @return user list
+     */
+    @ApiOperation("Search User Page by Attributes")
+    @GetMapping("search")
+    public ResponseResult<Page<User>> search(@RequestParam(required = false) String attributes,
+                                             @RequestParam(required = false) String attributesPath,
+                                             @RequestParam int pageSize, @RequestParam int pageNumber) {
+        UserQueryBean queryBean = UserQueryBean.builder().attributes(attributes).attributesPath(attributesPath).build();
+        return ResponseResult.success(userService.findPage(queryBean, PageRequest.of(pageNumber, pageSize)));
+    }
+}
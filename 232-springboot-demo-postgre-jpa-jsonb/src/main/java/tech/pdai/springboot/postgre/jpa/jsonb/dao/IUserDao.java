@@ -0,0 +1,12 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.dao;
+
+import org.springframework.stereotype.Repository;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.User;
+
+/**
+ * @author pdai
+ */
+@Repository
+public interface IUserDao extends IBaseDao<User, Long> {
+
+}
@@ -0,0 +1,45 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.dao;
+
+import org.springframework.data.jpa.domain.Specification;
+import tech.pdai.springboot.postgre.jpa.jsonb.config.PostgreSQLJsonbDialect;
+
+/**
+ * Specifications on jsonb attributes, both are served by a {@code jsonb_path_ops} GIN index.
+ *
+ * @author pdai
+ */
+public final class JsonbSpecifications {
+
+    /**
+     * no instance.
+     */
+    private JsonbSpecifications() {
+    }
+
+    /**
+     * attribute contains the json fragment, e.g. {@code {"level": "vip"}}.
+     *
+     * @param attribute jsonb attribute
+     * @param json      json fragment
+     * @param <T>       entity
+     * @return specification
+     */
+    public static <T> Specification<T> contains(String attribute, String json) {
+        return (root, query, cb) -> cb.isTrue(cb.function(PostgreSQLJsonbDialect.JSONB_CONTAINS, Boolean.class,
+                root.get(attribute), cb.literal(json)));
+    }
+
+    /**
+     * attribute matches the jsonpath predicate, e.g. {@code $.age > 18}.
+     *
+     * @param attribute jsonb attribute
+     * @param jsonPath  jsonpath predicate
+     * @param <T>       entity
+     * @return specification
+     */
+    public static <T> Specification<T> pathMatch(String attribute, String jsonPath) {
+        return (root, query, cb) -> cb.isTrue(cb.function(PostgreSQLJsonbDialect.JSONB_PATH_MATCH, Boolean.class,
+                root.get(attribute), cb.literal(jsonPath)));
+    }
+
+}
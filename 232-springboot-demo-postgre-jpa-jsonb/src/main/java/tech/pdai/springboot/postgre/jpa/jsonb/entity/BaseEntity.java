@@ -0,0 +1,9 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.entity;
+
+import java.io.Serializable;
+
+/**
+ * @author pdai
+ */
+public interface BaseEntity extends Serializable {
+}
@@ -0,0 +1,113 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.entity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
+import tech.pdai.springboot.postgre.jpa.jsonb.constants.PGConstants;
+import tech.pdai.springboot.postgre.jpa.jsonb.type.JsonbType;
+
+/**
+ * @author pdai
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "tb_user")
+@TypeDef(name = JsonbType.NAME, typeClass = JsonbType.class)
+@NamedEntityGraph(name = User.GRAPH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
+public class User implements BaseEntity {
+
+    /**
+     * entity graph which loads user with roles, used by detail view.
+     */
+    public static final String GRAPH_ROLES = "User.roles";
+
+    /**
+     * user id, written as string since snowflake ids exceed the 2^53 integer range of javascript.
+     */
+    @Id
+    @JsonSerialize(using = ToStringSerializer.class)
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(generator = PGConstants.ID_GENERATOR)
+    @GenericGenerator(name = PGConstants.ID_GENERATOR, strategy = PGConstants.ID_GENERATOR_SNOWFLAKE)
+    private Long id;
+
+    /**
+     * username.
+     */
+    private String userName;
+
+    /**
+     * user pwd.
+     */
+    @JsonIgnore
+    private String password;
+
+    /**
+     * email.
+     */
+    private String email;
+
+    /**
+     * phoneNumber.
+     */
+    private long phoneNumber;
+
+    /**
+     * description.
+     */
+    private String description;
+
+    /**
+     * extended attributes, stored as jsonb.
+     */
+    @Type(type = JsonbType.NAME)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> attributes;
+
+    /**
+     * create date time.
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * update date time.
+     */
+    private LocalDateTime updateTime;
+
+    /**
+     * join to role table, lazy by default and loaded in batches when a fetch plan asks for it.
+     */
+    @ToString.Exclude
+    @BatchSize(size = 500)
+    @ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
+    @JoinTable(name = "tb_user_role", joinColumns = {
+            @JoinColumn(name = "user_id")}, inverseJoinColumns = {@JoinColumn(name = "role_id")})
+    private Set<Role> roles;
+
+}
@@ -0,0 +1,30 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.entity.query;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserQueryBean {
+
+    /**
+     * contains name pattern.
+     */
+    private String name;
+
+    /**
+     * contains desc pattern.
+     */
+    private String description;
+
+    /**
+     * attributes contain json fragment.
+     */
+    private String attributes;
+
+    /**
+     * attributes match jsonpath predicate.
+     */
+    private String attributesPath;
+
+}
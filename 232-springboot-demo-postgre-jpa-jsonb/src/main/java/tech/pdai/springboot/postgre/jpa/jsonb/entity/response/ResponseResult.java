@@ -0,0 +1,86 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.entity.response;
+
+import java.io.Serializable;
+
+import lombok.Builder;
+import lombok.Data;
+import tech.pdai.springboot.postgre.jpa.jsonb.constants.ResponseStatus;
+
+@Data
+@Builder
+public class ResponseResult<T> {
+
+    /**
+     * response timestamp.
+     */
+    private long timestamp;
+
+    /**
+     * response code, 200 -> OK.
+     */
+    private String status;
+
+    /**
+     * response message.
+     */
+    private String message;
+
+    /**
+     * response data.
+     */
+    private T data;
+
+    /**
+     * response success result wrapper.
+     *
+     * @param <T> type of data class
+     * @return response result
+     */
+    public static <T> ResponseResult<T> success() {
+        return success(null);
+    }
+
+    /**
+     * response success result wrapper.
+     *
+     * @param data response data
+     * @param <T>  type of data class
+     * @return response result
+     */
+    public static <T> ResponseResult<T> success(T data) {
+        return ResponseResult.<T>builder().data(data)
+                .message(ResponseStatus.SUCCESS.getDescription())
+                .status(ResponseStatus.SUCCESS.getResponseCode())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * response error result wrapper.
+     *
+     * @param message error message
+     * @param <T>     type of data class
+     * @return response result
+     */
+    public static <T extends Serializable> ResponseResult<T> fail(String message) {
+        return fail(null, message);
+    }
+
+    /**
+     * response error result wrapper.
+     *
+     * @param data    response data
+     * @param message error message
+     * @param <T>     type of data class
+     * @return response result
+     */
+    public static <T> ResponseResult<T> fail(T data, String message) {
+        return ResponseResult.<T>builder().data(data)
+                .message(message)
+                .status(ResponseStatus.FAIL.getResponseCode())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+
+}
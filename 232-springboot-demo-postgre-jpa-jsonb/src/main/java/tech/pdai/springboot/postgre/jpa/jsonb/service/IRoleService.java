@@ -0,0 +1,19 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.Role;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.query.RoleQueryBean;
+
+public interface IRoleService extends IBaseService<Role, Long> {
+
+    /**
+     * find page by query.
+     *
+     * @param roleQueryBean query
+     * @param pageRequest   pageRequest
+     * @return page
+     */
+    Page<Role> findPage(RoleQueryBean roleQueryBean, PageRequest pageRequest);
+
+}
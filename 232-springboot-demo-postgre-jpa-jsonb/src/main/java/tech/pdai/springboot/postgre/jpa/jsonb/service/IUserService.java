@@ -0,0 +1,32 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.User;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.query.UserQueryBean;
+
+/**
+ * @author pdai
+ */
+public interface IUserService extends IBaseService<User, Long> {
+
+    /**
+     * find by page.
+     *
+     * @param userQueryBean query
+     * @param pageRequest   pageRequest
+     * @return page
+     */
+    Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest);
+
+    /**
+     * find by page with fetch plan.
+     *
+     * @param userQueryBean query
+     * @param pageRequest   pageRequest
+     * @param entityGraph   entity graph name, e.g. {@link User#GRAPH_ROLES}
+     * @return page
+     */
+    Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest, String entityGraph);
+
+}
@@ -0,0 +1,58 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.service.impl;
+
+import com.github.wenhao.jpa.Specifications;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.IBaseDao;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.IRoleDao;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.Role;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.query.RoleQueryBean;
+import tech.pdai.springboot.postgre.jpa.jsonb.service.IRoleService;
+
+@Service
+public class RoleDoServiceImpl extends BaseDoServiceImpl<Role, Long> implements IRoleService {
+
+    /**
+     * roleDao.
+     */
+    private final IRoleDao roleDao;
+
+    /**
+     * init.
+     *
+     * @param roleDao2 role dao
+     */
+    public RoleDoServiceImpl(final IRoleDao roleDao2) {
+        this.roleDao = roleDao2;
+    }
+
+    /**
+     * @return base dao
+     */
+    @Override
+    public IBaseDao<Role, Long> getBaseDao() {
+        return this.roleDao;
+    }
+
+    /**
+     * find page by query.
+     *
+     * @param roleQueryBean query
+     * @param pageRequest   pageRequest
+     * @return page
+     */
+    @Override
+    public Page<Role> findPage(RoleQueryBean roleQueryBean, PageRequest pageRequest) {
+        Specification<Role> specification = Specifications.<Role>and()
+                .like(StringUtils.isNotEmpty(roleQueryBean.getName()), "name",
+                        roleQueryBean.getName())
+                .like(StringUtils.isNotEmpty(roleQueryBean.getDescription()), "description",
+                        roleQueryBean.getDescription())
+                .build();
+        return this.roleDao.findAll(specification, pageRequest);
+    }
+
+}
@@ -0,0 +1,132 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.service.impl;
+
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wenhao.jpa.Specifications;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import tech.pdai.springboot.postgre.jpa.jsonb.constants.PGConstants;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.IBaseDao;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.IUserDao;
+import tech.pdai.springboot.postgre.jpa.jsonb.dao.JsonbSpecifications;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.User;
+import tech.pdai.springboot.postgre.jpa.jsonb.entity.query.UserQueryBean;
+import tech.pdai.springboot.postgre.jpa.jsonb.service.IUserService;
+
+@Service
+public class UserDoServiceImpl extends BaseDoServiceImpl<User, Long> implements IUserService {
+
+    /**
+     * userDao.
+     */
+    private final IUserDao userDao;
+
+    /**
+     * objectMapper, parses json filters.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * init.
+     *
+     * @param userDao2      user dao
+     * @param objectMapper2 object mapper
+     */
+    public UserDoServiceImpl(final IUserDao userDao2, final ObjectMapper objectMapper2) {
+        this.userDao = userDao2;
+        this.objectMapper = objectMapper2;
+    }
+
+    /**
+     * @return base dao
+     */
+    @Override
+    public IBaseDao<User, Long> getBaseDao() {
+        return this.userDao;
+    }
+
+    /**
+     * find by page.
+     *
+     * @param queryBean   query
+     * @param pageRequest pageRequest
+     * @return page
+     */
+    @Override
+    public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest) {
+        return findPage(queryBean, pageRequest, null);
+    }
+
+    /**
+     * find by page with fetch plan.
+     *
+     * @param queryBean   query
+     * @param pageRequest pageRequest
+     * @param entityGraph entity graph name
+     * @return page
+     */
+    @Override
+    public Page<User> findPage(UserQueryBean queryBean, PageRequest pageRequest, String entityGraph) {
+        checkFilters(queryBean);
+        Specification<User> specification = Specifications.<User>and()
+                .like(StringUtils.isNotEmpty(queryBean.getName()), "userName", queryBean.getName())
+                .like(StringUtils.isNotEmpty(queryBean.getDescription()), "description",
+                        queryBean.getDescription())
+                .predicate(StringUtils.isNotEmpty(queryBean.getAttributes()),
+                        JsonbSpecifications.contains("attributes", queryBean.getAttributes()))
+                .predicate(StringUtils.isNotEmpty(queryBean.getAttributesPath()),
+                        JsonbSpecifications.pathMatch("attributes", queryBean.getAttributesPath()))
+                .build();
+        try {
+            return this.getBaseDao().findAll(specification, pageRequest, entityGraph);
+        } catch (InvalidDataAccessResourceUsageException e) {
+            // there is no jsonpath parser on this side, postgres rejects it when casting the bound text
+            Throwable cause = e.getMostSpecificCause();
+            if (StringUtils.isNotEmpty(queryBean.getAttributesPath()) && cause instanceof SQLException
+                    && PGConstants.SQL_STATE_SYNTAX_ERROR.equals(((SQLException) cause).getSQLState())) {
+                throw new IllegalArgumentException("attributesPath is no valid jsonpath: " + cause.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * save or update, an existing user keeps its create time and is returned as stored.
+     *
+     * @param user user
+     * @return managed user
+     */
+    @Override
+    public User saveOrUpdate(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        // the stored user stays in the session, so the merge in save needs no second select
+        User stored = user.getId() == null ? null : userDao.findById(user.getId()).orElse(null);
+        user.setCreateTime(stored == null ? now : stored.getCreateTime());
+        user.setUpdateTime(now);
+        return userDao.save(user);
+    }
+
+    /**
+     * malformed json is a client error, not a failed query. Malformed jsonpath fails the query, see findPage.
+     *
+     * @param queryBean query
+     */
+    private void checkFilters(UserQueryBean queryBean) {
+        if (StringUtils.isNotEmpty(queryBean.getAttributes())) {
+            try {
+                objectMapper.readTree(queryBean.getAttributes());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("attributes is no valid json: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package tech.pdai.springboot.postgre.jpa.jsonb.type;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+/**
+ * Maps a {@code Map<String, Object>} attribute to a postgres jsonb column.
+ *
+ * @author pdai
+ */
+public class JsonbType implements UserType {
+
+    /**
+     * type name used in {@code @TypeDef}.
+     */
+    public static final String NAME = "jsonb";
+
+    /**
+     * map type.
+     */
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
+    /**
+     * json mapper, hibernate creates user types reflectively.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public int[] sqlTypes() {
+        return new int[]{Types.OTHER};
+    }
+
+    @Override
+    public Class<?> returnedClass() {
+        return Map.class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(Object x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        String json = rs.getString(names[0]);
+        return json == null ? null : decode(json);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, encode(value), Types.OTHER);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object deepCopy(Object value) {
+        return value == null ? null : MAPPER.convertValue(value, MAP_TYPE);
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(Object value) {
+        return value == null ? null : encode(value);
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner) {
+        return cached == null ? null : decode((String) cached);
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner) {
+        return deepCopy(original);
+    }
+
+    private static String encode(Object document) {
+        try {
+            return MAPPER.writeValueAsString(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> decode(String json) {
+        try {
+            return MAPPER.readValue(json, MAP_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
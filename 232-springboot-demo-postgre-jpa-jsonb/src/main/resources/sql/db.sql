@@ -0,0 +1,41 @@
+CREATE TABLE public.tb_user
+(
+    id bigint NOT NULL,
+    user_name character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    password character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    email character varying(255) COLLATE pg_catalog."default",
+    phone_number bigint,
+    description character varying(255) COLLATE pg_catalog."default",
+    create_time timestamp(6) with time zone,
+    update_time timestamp(6) with time zone,
+    attributes jsonb,
+    CONSTRAINT tb_user_pkey PRIMARY KEY (id)
+)
+
+CREATE TABLE public.tb_role
+(
+    id bigint NOT NULL,
+    name character varying(255) COLLATE pg_catalog."default",
+    role_key character varying(255) COLLATE pg_catalog."default",
+    description character varying(255) COLLATE pg_catalog."default",
+    create_time timestamp(6) with time zone,
+    update_time timestamp(6) with time zone,
+    CONSTRAINT tb_role_pkey PRIMARY KEY (id)
+)
+
+CREATE TABLE public.tb_user_role
+(
+    user_id bigint NOT NULL,
+    role_id bigint NOT NULL
+)
+
+CREATE SEQUENCE public.seq_tb_role
+    INCREMENT BY 50
+    START WITH 1
+
+-- existing roles keep their ids, the pooled-lo optimizer hands out [nextval, nextval + 50)
+SELECT setval('public.seq_tb_role', (SELECT COALESCE(max(id), 0) + 1 FROM public.tb_role), false)
+
+-- jsonb_path_ops serves @> and @@ only, smaller and faster than the default jsonb_ops
+CREATE INDEX idx_tb_user_attributes
+    ON public.tb_user USING GIN (attributes jsonb_path_ops)
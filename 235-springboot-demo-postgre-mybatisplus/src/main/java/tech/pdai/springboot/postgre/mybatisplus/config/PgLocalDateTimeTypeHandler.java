@@ -0,0 +1,174 @@
+package tech.pdai.springboot.postgre.mybatisplus.config;
+
+import java.lang.ref.WeakReference;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+/**
+ * Typed replacement of {@link PgTimestampZTypeHandler}: reads through {@code getObject(column, OffsetDateTime.class)}
+ * or {@code getObject(column, LocalDateTime.class)} so the driver decodes straight into java.time, without the
+ * intermediate {@code Timestamp}/{@code PGTimestamp} and the instanceof chain.
+ *
+ * <p>The decoders of a result set are picked from its metadata on the first row and kept until the thread reads
+ * another result set, so the same column label may have a different type in another statement. Values are read and
+ * written in the jvm default zone, the same as {@link PgTimestampZTypeHandler}.
+ *
+ * @author pdai
+ */
+@MappedTypes({LocalDateTime.class})
+@MappedJdbcTypes({JdbcType.OTHER})
+public class PgLocalDateTimeTypeHandler extends BaseTypeHandler<LocalDateTime> {
+
+    /**
+     * postgres type name of timestamp with time zone.
+     */
+    private static final String TIMESTAMPTZ = "timestamptz";
+
+    /**
+     * zone local date times are read in.
+     */
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * decoders of the result set the thread reads.
+     */
+    private final ThreadLocal<ResultSetDecoders> decoders = ThreadLocal.withInitial(ResultSetDecoders::new);
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, LocalDateTime parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setObject(i, parameter.atZone(ZONE).toOffsetDateTime());
+    }
+
+    @Override
+    public LocalDateTime getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decoders.get().of(rs).byLabel(columnName).read(rs, columnName);
+    }
+
+    @Override
+    public LocalDateTime getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decoders.get().of(rs).byIndex(columnIndex).read(rs, columnIndex);
+    }
+
+    @Override
+    public LocalDateTime getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        OffsetDateTime value = cs.getObject(columnIndex, OffsetDateTime.class);
+        return value == null ? null : value.atZoneSameInstant(ZONE).toLocalDateTime();
+    }
+
+    /**
+     * decoders of one result set, the metadata is read once per column.
+     */
+    private static final class ResultSetDecoders {
+
+        /**
+         * result set the decoders belong to, weak so a closed one is not kept by an idle thread.
+         */
+        private WeakReference<ResultSet> resultSet = new WeakReference<>(null);
+
+        /**
+         * metadata of the result set.
+         */
+        private ResultSetMetaData metaData;
+
+        /**
+         * column label -> decoder.
+         */
+        private final Map<String, Decoder> byLabel = new HashMap<>();
+
+        /**
+         * column index -> decoder, resolved on first read.
+         */
+        private Decoder[] byIndex;
+
+        ResultSetDecoders of(ResultSet rs) throws SQLException {
+            if (resultSet.get() != rs) {
+                resultSet = new WeakReference<>(rs);
+                metaData = rs.getMetaData();
+                byLabel.clear();
+                byIndex = new Decoder[metaData.getColumnCount() + 1];
+            }
+            return this;
+        }
+
+        Decoder byLabel(String label) throws SQLException {
+            Decoder decoder = byLabel.get(label);
+            if (decoder == null) {
+                // resolve through the result set, it matches labels the same way as getObject(label)
+                decoder = byIndex(resultSet.get().findColumn(label));
+                byLabel.put(label, decoder);
+            }
+            return decoder;
+        }
+
+        Decoder byIndex(int index) throws SQLException {
+            Decoder decoder = byIndex[index];
+            if (decoder == null) {
+                decoder = Decoder.of(metaData.getColumnTypeName(index));
+                byIndex[index] = decoder;
+            }
+            return decoder;
+        }
+    }
+
+    /**
+     * column decoder.
+     */
+    private enum Decoder {
+
+        /**
+         * timestamp with time zone, converted to the jvm default zone.
+         */
+        OFFSET {
+            @Override
+            LocalDateTime read(ResultSet rs, String column) throws SQLException {
+                return toLocal(rs.getObject(column, OffsetDateTime.class));
+            }
+
+            @Override
+            LocalDateTime read(ResultSet rs, int column) throws SQLException {
+                return toLocal(rs.getObject(column, OffsetDateTime.class));
+            }
+        },
+
+        /**
+         * timestamp without time zone, taken as is.
+         */
+        LOCAL {
+            @Override
+            LocalDateTime read(ResultSet rs, String column) throws SQLException {
+                return rs.getObject(column, LocalDateTime.class);
+            }
+
+            @Override
+            LocalDateTime read(ResultSet rs, int column) throws SQLException {
+                return rs.getObject(column, LocalDateTime.class);
+            }
+        };
+
+        abstract LocalDateTime read(ResultSet rs, String column) throws SQLException;
+
+        abstract LocalDateTime read(ResultSet rs, int column) throws SQLException;
+
+        static Decoder of(String typeName) {
+            return TIMESTAMPTZ.equalsIgnoreCase(typeName) ? OFFSET : LOCAL;
+        }
+
+        private static LocalDateTime toLocal(OffsetDateTime value) {
+            return value == null ? null : value.atZoneSameInstant(ZONE).toLocalDateTime();
+        }
+    }
+}
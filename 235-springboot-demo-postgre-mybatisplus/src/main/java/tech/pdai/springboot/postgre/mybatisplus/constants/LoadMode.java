@@ -0,0 +1,20 @@
+package tech.pdai.springboot.postgre.mybatisplus.constants;
+
+/**
+ * bulk load path.
+ *
+ * @author pdai
+ */
+public enum LoadMode {
+
+    /**
+     * postgres COPY FROM STDIN.
+     */
+    COPY,
+
+    /**
+     * orm inserts.
+     */
+    ORM
+
+}
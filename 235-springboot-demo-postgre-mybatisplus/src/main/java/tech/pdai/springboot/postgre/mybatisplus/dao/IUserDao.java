@@ -1,8 +1,13 @@
 package tech.pdai.springboot.postgre.mybatisplus.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.postgre.mybatisplus.config.UseExecutor;
 import tech.pdai.springboot.postgre.mybatisplus.entity.User;
 import tech.pdai.springboot.postgre.mybatisplus.entity.query.UserQueryBean;
 
@@ -11,5 +16,46 @@ import tech.pdai.springboot.postgre.mybatisplus.entity.query.UserQueryBean;
  */
 public interface IUserDao extends BaseMapper<User> {
 
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
     List<User> findList(UserQueryBean userQueryBean);
+
+    /**
+     * page of user ids, counted by the pagination interceptor unless disabled on the page.
+     *
+     * @param page  page
+     * @param query query
+     * @return page of ids
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
+    IPage<Long> findPageIds(IPage<Long> page, @Param("query") UserQueryBean query);
+
+    /**
+     * user ids without count.
+     *
+     * @param query  query
+     * @param offset rows to skip
+     * @param limit  max rows
+     * @return ids
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
+    List<Long> findSliceIds(@Param("query") UserQueryBean query, @Param("offset") long offset,
+                            @Param("limit") long limit);
+
+    /**
+     * @param ids user ids
+     * @return users with roles, ordered by id
+     */
+    @UseExecutor(ExecutorType.SIMPLE)
+    List<User> findByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return estimated rows of tb_user from table statistics, null if unknown
+     */
+    Long estimateCount();
 }
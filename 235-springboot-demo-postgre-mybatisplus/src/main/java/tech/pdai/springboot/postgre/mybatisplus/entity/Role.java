@@ -7,7 +7,7 @@ import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Getter;
 import lombok.Setter;
-import tech.pdai.springboot.postgre.mybatisplus.config.PgTimestampZTypeHandler;
+import tech.pdai.springboot.postgre.mybatisplus.config.PgLocalDateTimeTypeHandler;
 
 /**
  * @author pdai
@@ -44,13 +44,13 @@ public class Role implements BaseEntity {
     /**
      * create date time.
      */
-    @TableField(value = "create_time", typeHandler = PgTimestampZTypeHandler.class)
+    @TableField(value = "create_time", typeHandler = PgLocalDateTimeTypeHandler.class)
     private LocalDateTime createTime;
 
     /**
      * update date time.
      */
-    @TableField(value = "update_time", typeHandler = PgTimestampZTypeHandler.class)
+    @TableField(value = "update_time", typeHandler = PgLocalDateTimeTypeHandler.class)
     private LocalDateTime updateTime;
 
 }
@@ -3,8 +3,10 @@ package tech.pdai.springboot.postgre.mybatisplus.service;
 import java.util.List;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import tech.pdai.springboot.postgre.mybatisplus.constants.CountMode;
 import tech.pdai.springboot.postgre.mybatisplus.entity.User;
 import tech.pdai.springboot.postgre.mybatisplus.entity.query.UserQueryBean;
+import tech.pdai.springboot.postgre.mybatisplus.entity.response.PageResult;
 
 /**
  * @author pdai
@@ -13,4 +15,6 @@ public interface IUserService extends IService<User> {
 
     List<User> findList(UserQueryBean userQueryBean);
 
+    PageResult<User> findPage(UserQueryBean userQueryBean, long current, long size, CountMode countMode);
+
 }
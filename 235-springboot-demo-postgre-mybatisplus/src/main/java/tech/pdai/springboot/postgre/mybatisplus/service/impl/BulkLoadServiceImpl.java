@@ -0,0 +1,202 @@
+package tech.pdai.springboot.postgre.mybatisplus.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.postgre.mybatisplus.constants.LoadMode;
+import tech.pdai.springboot.postgre.mybatisplus.dao.PgCopyLoader;
+import tech.pdai.springboot.postgre.mybatisplus.entity.Role;
+import tech.pdai.springboot.postgre.mybatisplus.entity.User;
+import tech.pdai.springboot.postgre.mybatisplus.entity.param.UserLoadParam;
+import tech.pdai.springboot.postgre.mybatisplus.entity.response.BulkLoadResult;
+import tech.pdai.springboot.postgre.mybatisplus.service.IBulkLoadService;
+import tech.pdai.springboot.postgre.mybatisplus.service.IUserService;
+
+/**
+ * COPY runs on the connection of the current transaction, so a load is all or nothing.
+ * Missing ids are assigned by {@link IdWorker}, the same as mybatis-plus does on insert.
+ *
+ * @author pdai
+ */
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class BulkLoadServiceImpl implements IBulkLoadService {
+
+    /**
+     * max encoded chunks waiting for the connection.
+     */
+    private static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * rows per chunk.
+     */
+    private static final int CHUNK_ROWS = 1000;
+
+    /**
+     * user copy loader.
+     */
+    private static final PgCopyLoader<User> USER_LOADER = new PgCopyLoader<>("tb_user",
+            new String[]{"id", "user_name", "password", "email", "phone_number", "description", "create_time",
+                    "update_time"},
+            user -> new Object[]{idOf(user.getId()), user.getUserName(), user.getPassword(), user.getEmail(),
+                    user.getPhoneNumber(), user.getDescription(), user.getCreateTime(), user.getUpdateTime()},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * role copy loader.
+     */
+    private static final PgCopyLoader<Role> ROLE_LOADER = new PgCopyLoader<>("tb_role",
+            new String[]{"id", "name", "role_key", "description", "create_time", "update_time"},
+            role -> new Object[]{idOf(role.getId()), role.getName(), role.getRoleKey(), role.getDescription(),
+                    role.getCreateTime(), role.getUpdateTime()},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * user role link copy loader, a link is {user id, role id}.
+     */
+    private static final PgCopyLoader<long[]> USER_ROLE_LOADER = new PgCopyLoader<>("tb_user_role",
+            new String[]{"user_id", "role_id"},
+            link -> new Object[]{link[0], link[1]},
+            QUEUE_CAPACITY, CHUNK_ROWS);
+
+    /**
+     * data source.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * user service, the orm path.
+     */
+    private final IUserService userService;
+
+    /**
+     * init.
+     *
+     * @param dataSource  data source
+     * @param userService user service
+     */
+    public BulkLoadServiceImpl(DataSource dataSource, IUserService userService) {
+        this.dataSource = dataSource;
+        this.userService = userService;
+    }
+
+    /**
+     * ids are assigned up front, the role links need them and are copied after the users.
+     *
+     * @param users users
+     * @return result
+     */
+    @Override
+    public BulkLoadResult loadUsers(List<UserLoadParam> users) {
+        List<long[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserLoadParam user = users.get(i);
+            if (!StringUtils.hasText(user.getUserName()) || !StringUtils.hasText(user.getPassword())) {
+                throw new IllegalArgumentException("userName and password are required, missing in user " + i);
+            }
+            user.setId(idOf(user.getId()));
+            if (user.getRoleIds() != null) {
+                for (Long roleId : user.getRoleIds()) {
+                    if (roleId == null) {
+                        throw new IllegalArgumentException("null role id in user " + i);
+                    }
+                    userRoles.add(new long[]{user.getId(), roleId});
+                }
+            }
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long rows = copy(USER_LOADER, users.stream().map(user -> toUser(user, now)).iterator());
+        copy(USER_ROLE_LOADER, userRoles.iterator());
+        return BulkLoadResult.of(LoadMode.COPY, rows, start);
+    }
+
+    /**
+     * @param roles roles
+     * @return result
+     */
+    @Override
+    public BulkLoadResult loadRoles(List<Role> roles) {
+        long start = System.nanoTime();
+        return BulkLoadResult.of(LoadMode.COPY, copy(ROLE_LOADER, roles.iterator()), start);
+    }
+
+    /**
+     * @param count rows
+     * @param mode  load path
+     * @return result
+     */
+    @Override
+    public BulkLoadResult seedUsers(int count, LoadMode mode) {
+        long start = System.nanoTime();
+        if (mode == LoadMode.COPY) {
+            return BulkLoadResult.of(LoadMode.COPY, copy(USER_LOADER, IntStream.range(0, count)
+                    .mapToObj(this::sampleUser).iterator()), start);
+        }
+        // save in chunks, only one chunk of seeded users is held at a time
+        List<User> chunk = new ArrayList<>(CHUNK_ROWS);
+        for (int i = 0; i < count; i++) {
+            chunk.add(sampleUser(i));
+            if (chunk.size() == CHUNK_ROWS || i == count - 1) {
+                userService.saveBatch(chunk);
+                chunk.clear();
+            }
+        }
+        return BulkLoadResult.of(LoadMode.ORM, count, start);
+    }
+
+    private <T> long copy(PgCopyLoader<T> loader, Iterator<T> rows) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return loader.load(connection, rows);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("bulk load", loader.getCopySql(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static long idOf(Long id) {
+        return id == null ? IdWorker.getId() : id;
+    }
+
+    private User toUser(UserLoadParam param, LocalDateTime now) {
+        User user = new User();
+        user.setId(param.getId());
+        user.setUserName(param.getUserName());
+        user.setPassword(param.getPassword());
+        user.setEmail(param.getEmail());
+        user.setPhoneNumber(param.getPhoneNumber());
+        user.setDescription(param.getDescription());
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        return user;
+    }
+
+    private User sampleUser(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setUserName("bulk_user_" + i);
+        user.setPassword("bulk_password_" + i);
+        user.setEmail("bulk_user_" + i + "@pdai.tech");
+        user.setPhoneNumber(13_000_000_000L + i);
+        user.setDescription("seeded by bulk load");
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        return user;
+    }
+
+}
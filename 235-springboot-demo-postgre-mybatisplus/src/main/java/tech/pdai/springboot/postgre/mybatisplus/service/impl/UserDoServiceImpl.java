@@ -1,19 +1,79 @@
 package tech.pdai.springboot.postgre.mybatisplus.service.impl;
 
+import java.util.Collections;
 import java.util.List;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import tech.pdai.springboot.postgre.mybatisplus.constants.CountMode;
 import tech.pdai.springboot.postgre.mybatisplus.dao.IUserDao;
 import tech.pdai.springboot.postgre.mybatisplus.entity.User;
 import tech.pdai.springboot.postgre.mybatisplus.entity.query.UserQueryBean;
+import tech.pdai.springboot.postgre.mybatisplus.entity.response.PageResult;
 import tech.pdai.springboot.postgre.mybatisplus.service.IUserService;
 
 @Service
 public class UserDoServiceImpl extends ServiceImpl<IUserDao, User> implements IUserService {
 
+    /**
+     * max users of one page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Override
     public List<User> findList(UserQueryBean userQueryBean) {
         return baseMapper.findList(userQueryBean);
     }
+
+    @Override
+    public PageResult<User> findPage(UserQueryBean userQueryBean, long current, long size, CountMode countMode) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (current < 1 || current > Long.MAX_VALUE / size) {
+            throw new IllegalArgumentException("current must be positive and its offset fit in a long");
+        }
+        long offset = (current - 1) * size;
+        List<Long> ids;
+        Long total = null;
+        boolean approximate = false;
+        boolean hasNext;
+        if (countMode == CountMode.NONE) {
+            // one more row tells if there is a next page
+            ids = baseMapper.findSliceIds(userQueryBean, offset, size + 1);
+            hasNext = ids.size() > size;
+            if (hasNext) {
+                ids = ids.subList(0, ids.size() - 1);
+            }
+        } else {
+            Long estimate = countMode == CountMode.APPROXIMATE ? estimateCount(userQueryBean) : null;
+            // ids are paged on tb_user alone, so the interceptor counts tb_user without order by and joins
+            Page<Long> page = new Page<>(current, size, estimate == null);
+            ids = baseMapper.findPageIds(page, userQueryBean).getRecords();
+            approximate = estimate != null;
+            total = approximate ? estimate : page.getTotal();
+            hasNext = approximate ? ids.size() == size : offset + ids.size() < total;
+        }
+        return PageResult.<User>builder()
+                .records(ids.isEmpty() ? Collections.emptyList() : baseMapper.findByIds(ids))
+                .current(current)
+                .size(size)
+                .total(total)
+                .approximate(approximate)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * table statistics only estimate the whole table, filtered lists are counted exactly.
+     */
+    private Long estimateCount(UserQueryBean userQueryBean) {
+        if (StringUtils.hasText(userQueryBean.getUserName()) || StringUtils.hasText(userQueryBean.getDescription())
+                || StringUtils.hasText(userQueryBean.getPhoneNumber()) || StringUtils.hasText(userQueryBean.getEmail())) {
+            return null;
+        }
+        return baseMapper.estimateCount();
+    }
 }
@@ -0,0 +1,170 @@
+package tech.pdai.springboot.postgre.mybatisplus.config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * reads the create_time and update_time columns of synthetic rows through {@link PgTimestampZTypeHandler} and
+ * {@link PgLocalDateTimeTypeHandler}. The result set creates its values without a database, so the measured cost is
+ * the handler plus a constant proxy call and value allocation, not the decoding of the driver.
+ *
+ * @author pdai
+ */
+@Slf4j
+class PgLocalDateTimeTypeHandlerTest {
+
+    private static final int ROWS = 1_000_000;
+
+    /**
+     * rows of one result set, as from one statement.
+     */
+    private static final int RESULT_SET_ROWS = 100;
+
+    private static final String[] COLUMNS = {"create_time", "update_time"};
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2021, 9, 8, 17, 9, 15);
+
+    private static final Instant INSTANT = TIME.atZone(ZoneId.systemDefault()).toInstant();
+
+    /**
+     * keeps the read values alive, so the reads are not optimized away.
+     */
+    private int sink;
+
+    @Test
+    public void readsSameTimeAsCurrentHandler() throws SQLException {
+        PgTimestampZTypeHandler current = new PgTimestampZTypeHandler();
+        PgLocalDateTimeTypeHandler typed = new PgLocalDateTimeTypeHandler();
+        ResultSet rs = resultSet("timestamptz");
+
+        assertEquals(TIME, current.getResult(rs, "create_time"));
+        assertEquals(TIME, typed.getResult(rs, "create_time"));
+        assertEquals(TIME, typed.getResult(rs, 2));
+    }
+
+    @Test
+    public void decodersFollowTheResultSet() throws SQLException {
+        PgLocalDateTimeTypeHandler typed = new PgLocalDateTimeTypeHandler();
+
+        // the same labels and indexes with another column type in the next result set
+        assertEquals(TIME, typed.getResult(resultSet("timestamptz"), "create_time"));
+        assertEquals(TIME, typed.getResult(resultSet("timestamp"), "create_time"));
+        assertEquals(TIME, typed.getResult(resultSet("timestamptz"), 1));
+        assertEquals(TIME, typed.getResult(resultSet("timestamp"), 1));
+    }
+
+    @Test
+    public void typedHandlerAllocatesLessPerRow() throws SQLException {
+        TypeHandler<?> current = new PgTimestampZTypeHandler();
+        TypeHandler<?> typed = new PgLocalDateTimeTypeHandler();
+        // warm up jit of both before either is measured
+        read(current, ROWS / 10);
+        read(typed, ROWS / 10);
+
+        long currentBytes = measure("PgTimestampZTypeHandler", current);
+        long typedBytes = measure("PgLocalDateTimeTypeHandler", typed);
+
+        assertTrue(typedBytes < currentBytes, "typed " + typedBytes + " bytes/row, current " + currentBytes);
+        log.debug("sink {}", sink);
+    }
+
+    /**
+     * @return bytes/row
+     */
+    private long measure(String name, TypeHandler<?> typeHandler) throws SQLException {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        read(typeHandler, ROWS);
+        long nanos = (System.nanoTime() - start) / ROWS;
+        bytes = (allocatedBytes() - bytes) / ROWS;
+        log.info("{} rows of {} timestamptz columns by {}: {} ns/row, {} bytes/row", ROWS, COLUMNS.length, name,
+                nanos, bytes);
+        return bytes;
+    }
+
+    private void read(TypeHandler<?> typeHandler, int rows) throws SQLException {
+        ResultSet rs = null;
+        for (int i = 0; i < rows; i++) {
+            if (i % RESULT_SET_ROWS == 0) {
+                rs = resultSet("timestamptz");
+            }
+            for (String column : COLUMNS) {
+                sink += typeHandler.getResult(rs, column).hashCode();
+            }
+        }
+    }
+
+    /**
+     * result set whose columns all have the type and hold the same time, a typed read must ask for the java type
+     * pgjdbc maps the column type to.
+     */
+    private static ResultSet resultSet(String typeName) {
+        boolean offset = "timestamptz".equals(typeName);
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                PgLocalDateTimeTypeHandlerTest.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return COLUMNS.length;
+                        case "getColumnTypeName":
+                            return typeName;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        return (ResultSet) Proxy.newProxyInstance(PgLocalDateTimeTypeHandlerTest.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData":
+                            return metaData;
+                        case "findColumn":
+                            return findColumn((String) args[0]);
+                        case "getObject":
+                            // a new value per read
+                            if (args.length == 1) {
+                                return Timestamp.from(INSTANT);
+                            }
+                            if (args[1] != (offset ? OffsetDateTime.class : LocalDateTime.class)) {
+                                throw new SQLException("cannot read " + typeName + " as " + args[1]);
+                            }
+                            return offset ? OffsetDateTime.ofInstant(INSTANT, ZoneOffset.UTC)
+                                    : LocalDateTime.of(TIME.toLocalDate(), TIME.toLocalTime());
+                        case "wasNull":
+                            return false;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static int findColumn(String label) throws SQLException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMNS[i].equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("no column " + label);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -0,0 +1,107 @@
+package tech.pdai.springboot.postgre.jpa.druid.id;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * hibernate id generator backed by {@link SnowflakeIdWorker}.
+ *
+ * <p>Worker id is read from generator parameter {@value #WORKER_ID}, falling back to the global
+ * setting {@value #WORKER_ID_SETTING}. One of them must be set, otherwise the session factory
+ * fails to start; instances sharing a worker id generate colliding ids. Bits and epoch can be
+ * set by generator parameters.
+ *
+ * @author pdai
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator, Configurable {
+
+    /**
+     * global worker id setting, e.g. spring.jpa.properties.hibernate.id.snowflake.worker_id.
+     */
+    public static final String WORKER_ID_SETTING = "hibernate.id.snowflake.worker_id";
+
+    /**
+     * worker id parameter.
+     */
+    public static final String WORKER_ID = "worker_id";
+
+    /**
+     * worker id bits parameter.
+     */
+    public static final String WORKER_ID_BITS = "worker_id_bits";
+
+    /**
+     * sequence bits parameter.
+     */
+    public static final String SEQUENCE_BITS = "sequence_bits";
+
+    /**
+     * epoch parameter.
+     */
+    public static final String EPOCH = "epoch";
+
+    /**
+     * id worker.
+     */
+    private SnowflakeIdWorker idWorker;
+
+    /**
+     * @param type            type
+     * @param params          params
+     * @param serviceRegistry service registry
+     * @throws MappingException mapping exception
+     */
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        int workerIdBits = ConfigurationHelper.getInt(WORKER_ID_BITS, params, SnowflakeIdWorker.DEFAULT_WORKER_ID_BITS);
+        String workerId = ConfigurationHelper.getString(WORKER_ID, params,
+                ConfigurationHelper.getString(WORKER_ID_SETTING, settings));
+        if (workerId == null || workerId.trim().isEmpty()) {
+            throw new MappingException("snowflake worker id is not set, set " + WORKER_ID_SETTING
+                    + " to a value unique per instance");
+        }
+        try {
+            this.idWorker = new SnowflakeIdWorker(parseLong(WORKER_ID, workerId), workerIdBits,
+                    ConfigurationHelper.getInt(SEQUENCE_BITS, params, SnowflakeIdWorker.DEFAULT_SEQUENCE_BITS),
+                    getLong(EPOCH, params, SnowflakeIdWorker.DEFAULT_EPOCH));
+        } catch (IllegalArgumentException e) {
+            throw new MappingException("invalid snowflake settings, check " + WORKER_ID_SETTING + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param session session
+     * @param object  entity
+     * @return id
+     */
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return idWorker.nextId();
+    }
+
+    private static long getLong(String name, Map<?, ?> values, long defaultValue) {
+        String value = ConfigurationHelper.getString(name, values);
+        return value == null || value.trim().isEmpty() ? defaultValue : parseLong(name, value);
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new MappingException("invalid snowflake " + name + ": " + value, e);
+        }
+    }
+
+}
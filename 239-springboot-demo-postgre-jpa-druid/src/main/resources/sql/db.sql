@@ -26,4 +26,11 @@ CREATE TABLE public.tb_user_role
 (
     user_id bigint NOT NULL,
     role_id bigint NOT NULL
-)
\ No newline at end of file
+)
+
+CREATE SEQUENCE public.seq_tb_role
+    INCREMENT BY 50
+    START WITH 1
+
+-- existing roles keep their ids, the pooled-lo optimizer hands out [nextval, nextval + 50)
+SELECT setval('public.seq_tb_role', (SELECT COALESCE(max(id), 0) + 1 FROM public.tb_role), false)
@@ -1,6 +1,9 @@
 package tech.pdai.springboot.shardingjdbc.mybatis.tables.dao;
 
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.session.ExecutorType;
+import tech.pdai.springboot.shardingjdbc.mybatis.tables.config.UseExecutor;
+import tech.pdai.springboot.shardingjdbc.mybatis.tables.dao.provider.CachingLanguageDriver;
 import tech.pdai.springboot.shardingjdbc.mybatis.tables.dao.provider.UserDaoProvider;
 import tech.pdai.springboot.shardingjdbc.mybatis.tables.entity.User;
 import tech.pdai.springboot.shardingjdbc.mybatis.tables.entity.query.UserQueryBean;
@@ -35,6 +38,12 @@ public interface IUserDao {
     @Select(SELECT_USER_SQL)
     User findAll();
 
+    /**
+     * list by filters, every filter combination is its own sql so a SIMPLE executor is used.
+     *
+     * @param userQueryBean query
+     * @return users
+     */
     @ResultMap("UserResult")
     @Select({"<script> ", SELECT_USER_SQL, " where u.id != 0\n" +
             "\t\t<if test=\"userName != null and userName != ''\">\n" +
@@ -49,6 +58,7 @@ public interface IUserDao {
             "\t\t<if test=\"email != null and email != ''\">\n" +
             "AND u.email like concat('%', #{email}, '%')\n" +
             "\t\t</if>", " </script>"})
+    @UseExecutor(ExecutorType.SIMPLE)
     List<User> findList(UserQueryBean userQueryBean);
 
     @Delete("delete from tb_user where id = #{id}")
@@ -95,6 +105,7 @@ public interface IUserDao {
     int updatePassword(User user);
 
     @ResultMap("UserResult")
+    @Lang(CachingLanguageDriver.class)
     @SelectProvider(type = UserDaoProvider.class, method = "findById")
     User findById2(Long id);
 
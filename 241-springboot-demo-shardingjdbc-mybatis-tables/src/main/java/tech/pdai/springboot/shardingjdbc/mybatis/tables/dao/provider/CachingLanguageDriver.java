@@ -0,0 +1,79 @@
+package tech.pdai.springboot.shardingjdbc.mybatis.tables.dao.provider;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * language driver for sql providers, annotate the mapper method with {@code @Lang(CachingLanguageDriver.class)}.
+ * <p>
+ * mybatis calls the provider and parses the returned sql on every invocation. Providers that return a constant
+ * template with {@code #{}} placeholders (see {@link UserDaoProvider}) get the parsed {@link SqlSource} from this cache
+ * instead, so a call only binds parameters. Providers that inline values produce a new sql per call, so the cache is
+ * bounded and stops growing at {@link #MAX_ENTRIES}.
+ *
+ * @author pdai
+ */
+public class CachingLanguageDriver extends XMLLanguageDriver {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<Key, SqlSource> SQL_SOURCES = new ConcurrentHashMap<>();
+
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+        Key key = new Key(configuration, script, parameterType);
+        SqlSource sqlSource = SQL_SOURCES.get(key);
+        if (sqlSource == null) {
+            sqlSource = super.createSqlSource(configuration, script, parameterType);
+            if (SQL_SOURCES.size() < MAX_ENTRIES) {
+                SQL_SOURCES.putIfAbsent(key, sqlSource);
+            }
+        }
+        return sqlSource;
+    }
+
+    /**
+     * parsed sql depends on the configuration (type handlers) and the parameter type.
+     */
+    private static final class Key {
+
+        private final Configuration configuration;
+
+        private final String script;
+
+        private final Class<?> parameterType;
+
+        private final int hash;
+
+        private Key(Configuration configuration, String script, Class<?> parameterType) {
+            this.configuration = configuration;
+            this.script = script;
+            this.parameterType = parameterType;
+            this.hash = 31 * (31 * System.identityHashCode(configuration) + script.hashCode())
+                    + Objects.hashCode(parameterType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return configuration == other.configuration && script.equals(other.script)
+                    && Objects.equals(parameterType, other.parameterType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
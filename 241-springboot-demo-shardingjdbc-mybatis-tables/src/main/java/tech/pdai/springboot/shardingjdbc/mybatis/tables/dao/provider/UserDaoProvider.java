@@ -3,15 +3,20 @@ package tech.pdai.springboot.shardingjdbc.mybatis.tables.dao.provider;
 import org.apache.ibatis.jdbc.SQL;
 
 /**
+ * sql is built once per method as template with {@code #{}} placeholders, provider methods only return it. Use
+ * together with {@link CachingLanguageDriver} so that the template is parsed once as well.
+ *
  * @author pdai
  */
 public class UserDaoProvider {
 
-    public String findById(final Long id) {
-        SQL sql = new SQL();
-        sql.SELECT("u.id, u.password, u.user_name, u.email, u.phone_number, u.description, u.create_time, u.update_time");
-        sql.FROM("tb_user u");
-        sql.WHERE("id = " + id);
-        return sql.toString();
+    private static final String FIND_BY_ID = new SQL()
+            .SELECT("u.id, u.password, u.user_name, u.email, u.phone_number, u.description, u.create_time, u.update_time")
+            .FROM("tb_user u")
+            .WHERE("u.id = #{id}")
+            .toString();
+
+    public String findById() {
+        return FIND_BY_ID;
     }
 }
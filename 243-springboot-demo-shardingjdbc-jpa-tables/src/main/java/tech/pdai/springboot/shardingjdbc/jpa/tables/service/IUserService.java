@@ -19,4 +19,14 @@ public interface IUserService extends IBaseService<User, Long> {
      */
     Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest);
 
+    /**
+     * find by page with fetch plan.
+     *
+     * @param userQueryBean query
+     * @param pageRequest   pageRequest
+     * @param entityGraph   entity graph name, e.g. {@link User#GRAPH_ROLES}
+     * @return page
+     */
+    Page<User> findPage(UserQueryBean userQueryBean, PageRequest pageRequest, String entityGraph);
+
 }
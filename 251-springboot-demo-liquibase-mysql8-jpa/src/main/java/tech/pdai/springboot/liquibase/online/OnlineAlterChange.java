@@ -0,0 +1,122 @@
+package tech.pdai.springboot.liquibase.online;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Liquibase custom change altering one table through {@link ShadowTableMigrator}.
+ *
+ * <pre>
+ * - customChange:
+ *     class: tech.pdai.springboot.liquibase.online.OnlineAlterChange
+ *     tableName: tb_user
+ *     alterSpec: ADD COLUMN nickname varchar(45)
+ * </pre>
+ *
+ * <p>A change that renames columns lists them in {@code columnMapping}, e.g. {@code phone:phone_number}, so their
+ * data is copied to the new name.
+ *
+ * <p>Liquibase instantiates changes itself, the migrator is bound by {@link OnlineMigrationRunner} before update.
+ *
+ * @author pdai
+ */
+@Getter
+@Setter
+public class OnlineAlterChange implements CustomTaskChange {
+
+    /**
+     * migrator of the running online update.
+     */
+    private static volatile ShadowTableMigrator migrator;
+
+    /**
+     * altered table.
+     */
+    private String tableName;
+
+    /**
+     * alter specification.
+     */
+    private String alterSpec;
+
+    /**
+     * renamed columns, comma separated {@code old:new} pairs.
+     */
+    private String columnMapping;
+
+    /**
+     * @param shadowTableMigrator migrator
+     */
+    static void bind(ShadowTableMigrator shadowTableMigrator) {
+        migrator = shadowTableMigrator;
+    }
+
+    /**
+     * @param database database
+     * @throws CustomChangeException custom change exception
+     */
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        try {
+            migrator.alter(((JdbcConnection) database.getConnection()).getUnderlyingConnection(),
+                    getConfirmationMessage(), tableName, alterSpec, parseColumnMapping());
+        } catch (SQLException | RuntimeException e) {
+            throw new CustomChangeException(e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "alter " + tableName + " " + alterSpec;
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("alterSpec", alterSpec);
+        if (migrator == null) {
+            errors.addError("online changes run through OnlineMigrationRunner only");
+        }
+        try {
+            parseColumnMapping();
+        } catch (IllegalArgumentException e) {
+            errors.addError(e.getMessage());
+        }
+        return errors;
+    }
+
+    private Map<String, String> parseColumnMapping() {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        if (columnMapping == null || columnMapping.trim().isEmpty()) {
+            return mapping;
+        }
+        for (String pair : columnMapping.split(",")) {
+            String[] columns = pair.split(":");
+            if (columns.length != 2 || columns[0].trim().isEmpty() || columns[1].trim().isEmpty()) {
+                throw new IllegalArgumentException("columnMapping entry '" + pair + "' is not old:new");
+            }
+            mapping.put(columns[0].trim(), columns[1].trim());
+        }
+        return mapping;
+    }
+
+}
@@ -0,0 +1,39 @@
+package tech.pdai.springboot.liquibase.online;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @author pdai
+ */
+@Data
+@ConfigurationProperties(prefix = "online-migration")
+public class OnlineMigrationProperties {
+
+    /**
+     * run online migrations in background after the application is ready, off unless switched on.
+     */
+    private boolean enabled = false;
+
+    /**
+     * tables with at least this many rows (information_schema estimate) are altered by shadow table copy,
+     * smaller ones by a plain ALTER TABLE.
+     */
+    private long largeTableRows = 1_000_000L;
+
+    /**
+     * primary key range copied per statement.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * pause between chunks, leaves room for the application writes and replication.
+     */
+    private long throttleMillis = 20L;
+
+    /**
+     * keep the original table as _{table}_old after the swap.
+     */
+    private boolean keepOldTable = false;
+
+}
@@ -0,0 +1,92 @@
+package tech.pdai.springboot.liquibase.online;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the online changelog in background once the application is ready. It has its own changelog and lock
+ * tables, so the boot time liquibase neither waits for it nor is blocked by its lock; the lock still keeps
+ * concurrent instances from running it twice.
+ *
+ * @author pdai
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "online-migration", name = "enabled", havingValue = "true")
+public class OnlineMigrationRunner {
+
+    /**
+     * online changelog.
+     */
+    public static final String CHANGE_LOG = "db/changelog/db.changelog-online.yaml";
+
+    /**
+     * changelog table of online changes.
+     */
+    public static final String CHANGE_LOG_TABLE = "DATABASECHANGELOG_ONLINE";
+
+    /**
+     * lock table of online changes.
+     */
+    public static final String CHANGE_LOG_LOCK_TABLE = "DATABASECHANGELOGLOCK_ONLINE";
+
+    /**
+     * data source.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * migrator.
+     */
+    private final ShadowTableMigrator migrator;
+
+    /**
+     * init.
+     *
+     * @param dataSource data source
+     * @param migrator   migrator
+     */
+    public OnlineMigrationRunner(DataSource dataSource, ShadowTableMigrator migrator) {
+        this.dataSource = dataSource;
+        this.migrator = migrator;
+    }
+
+    /**
+     * start online migrations.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::migrate, "online-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void migrate() {
+        OnlineAlterChange.bind(migrator);
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            database.setDatabaseChangeLogTableName(CHANGE_LOG_TABLE);
+            database.setDatabaseChangeLogLockTableName(CHANGE_LOG_LOCK_TABLE);
+            Liquibase liquibase = new Liquibase(CHANGE_LOG, new ClassLoaderResourceAccessor(), database);
+            liquibase.update(new Contexts(), new LabelExpression());
+        } catch (Exception e) {
+            log.error("online migration failed", e);
+        }
+    }
+
+}
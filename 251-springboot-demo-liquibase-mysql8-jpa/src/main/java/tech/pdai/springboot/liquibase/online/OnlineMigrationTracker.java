@@ -0,0 +1,35 @@
+package tech.pdai.springboot.liquibase.online;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author pdai
+ */
+public class OnlineMigrationTracker {
+
+    /**
+     * migrations of this instance, in start order.
+     */
+    private final List<MigrationProgress> migrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param name  migration name
+     * @param table altered table
+     * @return progress
+     */
+    public MigrationProgress start(String name, String table) {
+        MigrationProgress progress = new MigrationProgress(name, table);
+        migrations.add(progress);
+        return progress;
+    }
+
+    /**
+     * @return all migrations
+     */
+    public List<MigrationProgress> getMigrations() {
+        return new ArrayList<>(migrations);
+    }
+
+}
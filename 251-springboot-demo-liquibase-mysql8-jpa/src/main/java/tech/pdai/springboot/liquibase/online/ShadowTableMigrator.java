@@ -0,0 +1,314 @@
+package tech.pdai.springboot.liquibase.online;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Alters a table without blocking its writes for the duration of the ALTER TABLE.
+ *
+ * <p>Large tables are migrated through a shadow table: {@code _t_new} is created like {@code t} and altered,
+ * triggers on {@code t} replay every write into it, rows are backfilled in primary key ranges with
+ * {@code INSERT IGNORE} (rows written by the triggers are newer and win), and both tables are swapped by one
+ * atomic {@code RENAME TABLE}. Requires a single column integer primary key and the privilege to create triggers.
+ *
+ * <p>Rows are copied by column name. A renamed column needs an entry in the column mapping, otherwise a change that
+ * both removes and adds columns is refused, as its data could not be carried over. If the copy fails, the triggers
+ * and the shadow table are dropped and the table is left as it was.
+ *
+ * @author pdai
+ */
+@Slf4j
+public class ShadowTableMigrator {
+
+    /**
+     * integer column types usable for range chunking.
+     */
+    private static final List<String> INTEGER_TYPES = Arrays.asList("tinyint", "smallint", "mediumint", "int",
+            "bigint");
+
+    /**
+     * properties.
+     */
+    private final OnlineMigrationProperties properties;
+
+    /**
+     * tracker.
+     */
+    private final OnlineMigrationTracker tracker;
+
+    /**
+     * init.
+     *
+     * @param properties properties
+     * @param tracker    tracker
+     */
+    public ShadowTableMigrator(OnlineMigrationProperties properties, OnlineMigrationTracker tracker) {
+        this.properties = properties;
+        this.tracker = tracker;
+    }
+
+    /**
+     * apply {@code ALTER TABLE table alterSpec}, by shadow copy if the table is large.
+     *
+     * @param connection connection, switched to auto commit for the duration of the migration
+     * @param name       migration name
+     * @param table      table
+     * @param alterSpec  alter specification, e.g. ADD COLUMN nickname varchar(45)
+     * @throws SQLException sql exception
+     */
+    public void alter(Connection connection, String name, String table, String alterSpec) throws SQLException {
+        alter(connection, name, table, alterSpec, Collections.emptyMap());
+    }
+
+    /**
+     * apply {@code ALTER TABLE table alterSpec}, by shadow copy if the table is large.
+     *
+     * @param connection    connection, switched to auto commit for the duration of the migration
+     * @param name          migration name
+     * @param table         table
+     * @param alterSpec     alter specification, e.g. CHANGE COLUMN phone phone_number bigint
+     * @param columnMapping renamed columns, old name to new name
+     * @throws SQLException sql exception
+     */
+    public void alter(Connection connection, String name, String table, String alterSpec,
+                      Map<String, String> columnMapping) throws SQLException {
+        MigrationProgress progress = tracker.start(name, table);
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            connection.setAutoCommit(true);
+            long rows = estimateRows(connection, table);
+            progress.setEstimatedRows(rows);
+            if (rows < properties.getLargeTableRows()) {
+                progress.setMode(MigrationProgress.Mode.DIRECT);
+                execute(connection, "ALTER TABLE " + quote(table) + " " + alterSpec);
+            } else {
+                progress.setMode(MigrationProgress.Mode.SHADOW_COPY);
+                shadowCopy(connection, table, alterSpec, columnMapping, progress);
+            }
+            progress.done();
+            log.info("online migration {} on {} done in {} mode", name, table, progress.getMode());
+        } catch (SQLException | RuntimeException e) {
+            progress.fail(e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void shadowCopy(Connection connection, String table, String alterSpec, Map<String, String> columnMapping,
+                            MigrationProgress progress) throws SQLException {
+        String shadow = "_" + table + "_new";
+        String old = "_" + table + "_old";
+        if (!columns(connection, old).isEmpty()) {
+            throw new IllegalStateException(old + " is left from a previous migration, drop it first");
+        }
+        String primaryKey = primaryKey(connection, table);
+
+        // leftovers of an interrupted run are ours, start over
+        dropShadow(connection, table, shadow);
+        try {
+            execute(connection, "CREATE TABLE " + quote(shadow) + " LIKE " + quote(table));
+            execute(connection, "ALTER TABLE " + quote(shadow) + " " + alterSpec);
+
+            List<String> sourceColumns = new ArrayList<>();
+            List<String> targetColumns = new ArrayList<>();
+            mapColumns(columns(connection, table), columns(connection, shadow), columnMapping, sourceColumns,
+                    targetColumns);
+            if (!sourceColumns.contains(primaryKey)) {
+                throw new IllegalStateException("shadow copy of " + table + " can not drop its primary key");
+            }
+            createTriggers(connection, table, shadow, primaryKey, sourceColumns, targetColumns);
+
+            progress.setState(MigrationProgress.State.COPYING);
+            backfill(connection, table, shadow, primaryKey, sourceColumns, targetColumns, progress);
+
+            progress.setState(MigrationProgress.State.SWAPPING);
+            execute(connection, "RENAME TABLE " + quote(table) + " TO " + quote(old) + ", " + quote(shadow)
+                    + " TO " + quote(table));
+        } catch (SQLException | RuntimeException e) {
+            // writes to the table would keep replaying into the abandoned shadow otherwise
+            try {
+                dropShadow(connection, table, shadow);
+            } catch (SQLException | RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        dropTriggers(connection, table);
+        if (!properties.isKeepOldTable()) {
+            execute(connection, "DROP TABLE " + quote(old));
+        }
+    }
+
+    /**
+     * pair the columns of table with those of shadow, by name or by the column mapping.
+     */
+    static void mapColumns(List<String> tableColumns, List<String> shadowColumns, Map<String, String> columnMapping,
+                           List<String> sourceColumns, List<String> targetColumns) {
+        List<String> removed = new ArrayList<>();
+        for (String column : tableColumns) {
+            String target = columnMapping.getOrDefault(column, column);
+            if (shadowColumns.contains(target)) {
+                sourceColumns.add(column);
+                targetColumns.add(target);
+            } else {
+                removed.add(column);
+            }
+        }
+        for (String column : columnMapping.keySet()) {
+            if (!tableColumns.contains(column) || !targetColumns.contains(columnMapping.get(column))) {
+                throw new IllegalStateException("column mapping " + column + " -> " + columnMapping.get(column)
+                        + " does not match the altered table");
+            }
+        }
+        List<String> added = new ArrayList<>(shadowColumns);
+        added.removeAll(targetColumns);
+        if (!removed.isEmpty() && !added.isEmpty()) {
+            throw new IllegalStateException("columns " + removed + " are gone and " + added + " are new, map renamed "
+                    + "columns or split the change into one that adds and one that drops columns");
+        }
+    }
+
+    private void backfill(Connection connection, String table, String shadow, String primaryKey,
+                          List<String> sourceColumns, List<String> targetColumns, MigrationProgress progress)
+            throws SQLException {
+        long min;
+        long max;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(" + quote(primaryKey) + "), MAX("
+                     + quote(primaryKey) + ") FROM " + quote(table))) {
+            rs.next();
+            min = rs.getLong(1);
+            max = rs.getLong(2);
+            if (rs.wasNull()) {
+                return;
+            }
+        }
+        String sql = "INSERT IGNORE INTO " + quote(shadow) + " (" + joinColumns(targetColumns, "") + ") SELECT "
+                + joinColumns(sourceColumns, "") + " FROM " + quote(table) + " WHERE " + quote(primaryKey) + " >= ? AND " + quote(primaryKey)
+                + " < ? LOCK IN SHARE MODE";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            // rows inserted after max are replayed by the insert trigger
+            for (long from = min; from <= max; from += properties.getChunkSize()) {
+                statement.setLong(1, from);
+                statement.setLong(2, from + properties.getChunkSize());
+                progress.addCopiedRows(statement.executeUpdate());
+                throttle();
+            }
+        }
+    }
+
+    private void createTriggers(Connection connection, String table, String shadow, String primaryKey,
+                                List<String> sourceColumns, List<String> targetColumns) throws SQLException {
+        String replace = "REPLACE INTO " + quote(shadow) + " (" + joinColumns(targetColumns, "") + ") VALUES ("
+                + joinColumns(sourceColumns, "NEW.") + ")";
+        String shadowKey = targetColumns.get(sourceColumns.indexOf(primaryKey));
+        String delete = "DELETE IGNORE FROM " + quote(shadow) + " WHERE " + quote(shadowKey) + " = OLD."
+                + quote(primaryKey);
+        execute(connection, "CREATE TRIGGER " + quote(trigger(table, "ins")) + " AFTER INSERT ON " + quote(table)
+                + " FOR EACH ROW " + replace);
+        execute(connection, "CREATE TRIGGER " + quote(trigger(table, "upd")) + " AFTER UPDATE ON " + quote(table)
+                + " FOR EACH ROW BEGIN " + delete + "; " + replace + "; END");
+        execute(connection, "CREATE TRIGGER " + quote(trigger(table, "del")) + " AFTER DELETE ON " + quote(table)
+                + " FOR EACH ROW " + delete);
+    }
+
+    private void dropShadow(Connection connection, String table, String shadow) throws SQLException {
+        dropTriggers(connection, table);
+        execute(connection, "DROP TABLE IF EXISTS " + quote(shadow));
+    }
+
+    private void dropTriggers(Connection connection, String table) throws SQLException {
+        for (String suffix : new String[]{"ins", "upd", "del"}) {
+            execute(connection, "DROP TRIGGER IF EXISTS " + quote(trigger(table, suffix)));
+        }
+    }
+
+    private long estimateRows(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT TABLE_ROWS FROM "
+                + "information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    private String primaryKey(Connection connection, String table) throws SQLException {
+        List<String> keys = new ArrayList<>();
+        String dataType = null;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COLUMN_NAME, DATA_TYPE FROM "
+                + "information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+                + "AND COLUMN_KEY = 'PRI'")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(rs.getString(1));
+                    dataType = rs.getString(2);
+                }
+            }
+        }
+        if (keys.size() != 1 || !INTEGER_TYPES.contains(dataType)) {
+            throw new IllegalStateException("shadow copy of " + table + " needs a single integer primary key");
+        }
+        return keys.get(0);
+    }
+
+    private List<String> columns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COLUMN_NAME FROM "
+                + "information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+                + "ORDER BY ORDINAL_POSITION")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private void throttle() throws SQLException {
+        if (properties.getThrottleMillis() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getThrottleMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("online migration interrupted", e);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        log.debug("online migration: {}", sql);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String joinColumns(List<String> columns, String prefix) {
+        return columns.stream().map(column -> prefix + quote(column)).collect(Collectors.joining(", "));
+    }
+
+    private static String trigger(String table, String suffix) {
+        return table + "_osc_" + suffix;
+    }
+
+    private static String quote(String identifier) {
+        return "`" + identifier + "`";
+    }
+
+}
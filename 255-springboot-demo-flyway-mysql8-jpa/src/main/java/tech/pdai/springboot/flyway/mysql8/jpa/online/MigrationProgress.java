@@ -0,0 +1,132 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * progress of one online migration, updated by the migration thread and read by the actuator endpoint.
+ *
+ * @author pdai
+ */
+@Getter
+public class MigrationProgress {
+
+    /**
+     * alter mode.
+     */
+    public enum Mode {
+
+        /**
+         * plain ALTER TABLE, small table.
+         */
+        DIRECT,
+
+        /**
+         * shadow table copy and rename, large table.
+         */
+        SHADOW_COPY
+    }
+
+    /**
+     * state.
+     */
+    public enum State {
+        RUNNING, COPYING, SWAPPING, DONE, FAILED
+    }
+
+    /**
+     * migration name.
+     */
+    private final String name;
+
+    /**
+     * altered table.
+     */
+    private final String table;
+
+    /**
+     * start time.
+     */
+    private final LocalDateTime startTime = LocalDateTime.now();
+
+    /**
+     * copied rows, rows already written by the sync triggers are not counted.
+     */
+    private final AtomicLong copiedRows = new AtomicLong();
+
+    /**
+     * mode.
+     */
+    private volatile Mode mode;
+
+    /**
+     * state.
+     */
+    private volatile State state = State.RUNNING;
+
+    /**
+     * estimated rows of the table.
+     */
+    private volatile long estimatedRows;
+
+    /**
+     * end time.
+     */
+    private volatile LocalDateTime endTime;
+
+    /**
+     * failure message.
+     */
+    private volatile String error;
+
+    /**
+     * init.
+     *
+     * @param name  migration name
+     * @param table altered table
+     */
+    public MigrationProgress(String name, String table) {
+        this.name = name;
+        this.table = table;
+    }
+
+    void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    void setEstimatedRows(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    void addCopiedRows(long rows) {
+        copiedRows.addAndGet(rows);
+    }
+
+    void done() {
+        this.state = State.DONE;
+        this.endTime = LocalDateTime.now();
+    }
+
+    void fail(Exception e) {
+        this.state = State.FAILED;
+        this.error = e.getMessage();
+        this.endTime = LocalDateTime.now();
+    }
+
+    /**
+     * @return copied / estimated rows in percent, 100 when done
+     */
+    public int getPercent() {
+        if (state == State.DONE) {
+            return 100;
+        }
+        return estimatedRows <= 0 ? 0 : (int) Math.min(99L, copiedRows.get() * 100L / estimatedRows);
+    }
+
+}
@@ -0,0 +1,85 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Flyway java migration altering one table through {@link ShadowTableMigrator}, version and description
+ * come from the class name as usual, e.g. {@code V1__Add_user_nickname}.
+ *
+ * <p>Not a spring bean on purpose: spring boot would hand java migration beans to the boot time flyway.
+ *
+ * @author pdai
+ */
+public abstract class OnlineAlterMigration extends BaseJavaMigration {
+
+    /**
+     * migrator.
+     */
+    private final ShadowTableMigrator migrator;
+
+    /**
+     * altered table.
+     */
+    private final String table;
+
+    /**
+     * alter specification.
+     */
+    private final String alterSpec;
+
+    /**
+     * renamed columns, old name to new name.
+     */
+    private final Map<String, String> columnMapping;
+
+    /**
+     * init.
+     *
+     * @param migrator  migrator
+     * @param table     altered table
+     * @param alterSpec alter specification
+     */
+    protected OnlineAlterMigration(ShadowTableMigrator migrator, String table, String alterSpec) {
+        this(migrator, table, alterSpec, Collections.emptyMap());
+    }
+
+    /**
+     * init.
+     *
+     * @param migrator      migrator
+     * @param table         altered table
+     * @param alterSpec     alter specification
+     * @param columnMapping renamed columns, old name to new name
+     */
+    protected OnlineAlterMigration(ShadowTableMigrator migrator, String table, String alterSpec,
+                                   Map<String, String> columnMapping) {
+        this.migrator = migrator;
+        this.table = table;
+        this.alterSpec = alterSpec;
+        this.columnMapping = columnMapping;
+    }
+
+    /**
+     * @param context flyway context
+     * @throws Exception exception
+     */
+    @Override
+    public void migrate(Context context) throws Exception {
+        migrator.alter(context.getConnection(), getDescription(), table, alterSpec, columnMapping);
+    }
+
+    /**
+     * DDL commits implicitly in mysql and the backfill commits per chunk.
+     *
+     * @return false
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+}
@@ -0,0 +1,30 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author pdai
+ */
+@Configuration
+@EnableConfigurationProperties(OnlineMigrationProperties.class)
+public class OnlineMigrationConfig {
+
+    @Bean
+    public OnlineMigrationTracker onlineMigrationTracker() {
+        return new OnlineMigrationTracker();
+    }
+
+    @Bean
+    public ShadowTableMigrator shadowTableMigrator(OnlineMigrationProperties properties,
+                                                   OnlineMigrationTracker tracker) {
+        return new ShadowTableMigrator(properties, tracker);
+    }
+
+    @Bean
+    public OnlineMigrationEndpoint onlineMigrationEndpoint(OnlineMigrationTracker tracker) {
+        return new OnlineMigrationEndpoint(tracker);
+    }
+
+}
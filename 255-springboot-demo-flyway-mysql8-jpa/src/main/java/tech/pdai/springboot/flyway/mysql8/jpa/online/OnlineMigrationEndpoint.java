@@ -0,0 +1,38 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * /actuator/onlinemigration.
+ *
+ * @author pdai
+ */
+@Endpoint(id = "onlinemigration")
+public class OnlineMigrationEndpoint {
+
+    /**
+     * tracker.
+     */
+    private final OnlineMigrationTracker tracker;
+
+    /**
+     * init.
+     *
+     * @param tracker tracker
+     */
+    public OnlineMigrationEndpoint(OnlineMigrationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return progress of online migrations
+     */
+    @ReadOperation
+    public List<MigrationProgress> migrations() {
+        return tracker.getMigrations();
+    }
+
+}
@@ -0,0 +1,97 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the online migrations in background once the application is ready. They have their own history table,
+ * so the boot time flyway neither waits for nor validates them; the flyway lock on that table keeps concurrent
+ * instances from running them twice.
+ *
+ * @author pdai
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "online-migration", name = "enabled", havingValue = "true")
+public class OnlineMigrationRunner {
+
+    /**
+     * history table of online migrations.
+     */
+    public static final String HISTORY_TABLE = "flyway_online_schema_history";
+
+    /**
+     * sql location, online migrations are java migrations so it is normally empty.
+     */
+    public static final String LOCATION = "classpath:db/online";
+
+    /**
+     * data source.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * migrator.
+     */
+    private final ShadowTableMigrator migrator;
+
+    /**
+     * init.
+     *
+     * @param dataSource data source
+     * @param migrator   migrator
+     */
+    public OnlineMigrationRunner(DataSource dataSource, ShadowTableMigrator migrator) {
+        this.dataSource = dataSource;
+        this.migrator = migrator;
+    }
+
+    /**
+     * start online migrations.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::migrate, "online-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * online migrations to run, none yet. Register them here, e.g.
+     * {@code new V1__Add_user_nickname(migrator)} from {@code online.migration}.
+     *
+     * @return migrations
+     */
+    private JavaMigration[] migrations() {
+        return new JavaMigration[0];
+    }
+
+    private void migrate() {
+        JavaMigration[] migrations = migrations();
+        if (migrations.length == 0) {
+            log.info("no online migration registered");
+            return;
+        }
+        try {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .table(HISTORY_TABLE)
+                    .locations(LOCATION)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .javaMigrations(migrations)
+                    .load()
+                    .migrate();
+        } catch (RuntimeException e) {
+            log.error("online migration failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online.migration;
+
+import tech.pdai.springboot.flyway.mysql8.jpa.online.OnlineAlterMigration;
+import tech.pdai.springboot.flyway.mysql8.jpa.online.ShadowTableMigrator;
+
+/**
+ * Example online migration. It is not registered in {@link tech.pdai.springboot.flyway.mysql8.jpa.online.OnlineMigrationRunner},
+ * so it does not run.
+ *
+ * @author pdai
+ */
+public class V1__Add_user_nickname extends OnlineAlterMigration {
+
+    /**
+     * init.
+     *
+     * @param migrator migrator
+     */
+    public V1__Add_user_nickname(ShadowTableMigrator migrator) {
+        super(migrator, "tb_user", "ADD COLUMN `nickname` varchar(45) DEFAULT NULL AFTER `user_name`");
+    }
+
+}
@@ -0,0 +1,254 @@
+package tech.pdai.springboot.flyway.mysql8.jpa.online;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * column mapping and cleanup of {@link ShadowTableMigrator}. MySQL is replaced by a mocked connection which keeps
+ * the columns of each table and records the executed sql, H2 has no triggers or RENAME TABLE of MySQL.
+ *
+ * @author pdai
+ */
+class ShadowTableMigratorTest {
+
+    private static final String ALTER_SPEC = "ADD COLUMN nickname varchar(45)";
+
+    /**
+     * table name to columns.
+     */
+    private final Map<String, List<String>> tables = new HashMap<>();
+
+    /**
+     * executed ddl and backfill statements.
+     */
+    private final List<String> executed = new ArrayList<>();
+
+    private final OnlineMigrationTracker tracker = new OnlineMigrationTracker();
+
+    private ShadowTableMigrator migrator;
+
+    private Connection connection;
+
+    /**
+     * statements starting with it fail.
+     */
+    private String failing;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        OnlineMigrationProperties properties = new OnlineMigrationProperties();
+        properties.setThrottleMillis(0);
+        migrator = new ShadowTableMigrator(properties, tracker);
+        tables.put("tb_user", new ArrayList<>(Arrays.asList("id", "user_name", "phone_number")));
+
+        connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(connection.createStatement()).thenAnswer(invocation -> statement());
+        when(connection.prepareStatement(anyString()))
+                .thenAnswer(invocation -> preparedStatement(invocation.getArgument(0)));
+    }
+
+    @Test
+    public void columnsArePairedByName() {
+        List<String> source = new ArrayList<>();
+        List<String> target = new ArrayList<>();
+        ShadowTableMigrator.mapColumns(Arrays.asList("id", "user_name"), Arrays.asList("id", "user_name", "nickname"),
+                Collections.emptyMap(), source, target);
+
+        assertEquals(Arrays.asList("id", "user_name"), source);
+        assertEquals(Arrays.asList("id", "user_name"), target);
+    }
+
+    @Test
+    public void droppedColumnIsNotCopied() {
+        List<String> source = new ArrayList<>();
+        List<String> target = new ArrayList<>();
+        ShadowTableMigrator.mapColumns(Arrays.asList("id", "user_name", "phone"), Arrays.asList("id", "user_name"),
+                Collections.emptyMap(), source, target);
+
+        assertEquals(Arrays.asList("id", "user_name"), source);
+        assertEquals(Arrays.asList("id", "user_name"), target);
+    }
+
+    @Test
+    public void renamedColumnIsPairedByMapping() {
+        List<String> source = new ArrayList<>();
+        List<String> target = new ArrayList<>();
+        ShadowTableMigrator.mapColumns(Arrays.asList("id", "phone", "user_name"),
+                Arrays.asList("id", "phone_number", "user_name"), Collections.singletonMap("phone", "phone_number"),
+                source, target);
+
+        assertEquals(Arrays.asList("id", "phone", "user_name"), source);
+        assertEquals(Arrays.asList("id", "phone_number", "user_name"), target);
+    }
+
+    @Test
+    public void unmappedRenameIsRefused() {
+        assertThrows(IllegalStateException.class, () -> ShadowTableMigrator.mapColumns(Arrays.asList("id", "phone"),
+                Arrays.asList("id", "phone_number"), Collections.emptyMap(), new ArrayList<>(), new ArrayList<>()));
+    }
+
+    @Test
+    public void mappingOfMissingColumnIsRefused() {
+        assertThrows(IllegalStateException.class, () -> ShadowTableMigrator.mapColumns(Arrays.asList("id", "phone"),
+                Arrays.asList("id", "phone"), Collections.singletonMap("mobile", "phone"), new ArrayList<>(),
+                new ArrayList<>()));
+        assertThrows(IllegalStateException.class, () -> ShadowTableMigrator.mapColumns(Arrays.asList("id", "phone"),
+                Arrays.asList("id", "phone"), Collections.singletonMap("phone", "mobile"), new ArrayList<>(),
+                new ArrayList<>()));
+    }
+
+    @Test
+    public void shadowCopySwapsTables() throws SQLException {
+        migrator.alter(connection, "add nickname", "tb_user", ALTER_SPEC);
+
+        assertTrue(executed.contains("RENAME TABLE `tb_user` TO `_tb_user_old`, `_tb_user_new` TO `tb_user`"));
+        assertEquals(3, count("INSERT IGNORE INTO `_tb_user_new`"));
+        assertEquals("DROP TABLE `_tb_user_old`", executed.get(executed.size() - 1));
+        MigrationProgress progress = tracker.getMigrations().get(0);
+        assertEquals(MigrationProgress.State.DONE, progress.getState());
+        assertEquals(MigrationProgress.Mode.SHADOW_COPY, progress.getMode());
+        verify(connection).setAutoCommit(false);
+    }
+
+    @Test
+    public void failedAlterOfShadowDropsIt() throws SQLException {
+        failing = "ALTER TABLE `_tb_user_new`";
+
+        assertThrows(SQLException.class, () -> migrator.alter(connection, "add nickname", "tb_user", ALTER_SPEC));
+
+        assertCleanedUp(failing);
+        assertEquals(0, count("CREATE TRIGGER"));
+    }
+
+    @Test
+    public void failedBackfillDropsTriggersAndShadow() throws SQLException {
+        failing = "INSERT IGNORE INTO `_tb_user_new`";
+
+        assertThrows(SQLException.class, () -> migrator.alter(connection, "add nickname", "tb_user", ALTER_SPEC));
+
+        assertCleanedUp(failing);
+        assertEquals(3, count("CREATE TRIGGER"));
+    }
+
+    @Test
+    public void refusedColumnMappingDropsShadow() throws SQLException {
+        assertThrows(IllegalStateException.class, () -> migrator.alter(connection, "rename phone", "tb_user",
+                "CHANGE COLUMN phone_number phone bigint"));
+
+        // refused after altering the shadow, before any trigger is created
+        assertCleanedUp("ALTER TABLE `_tb_user_new`");
+    }
+
+    /**
+     * after the failed statement the triggers and the shadow table are dropped, the table itself is untouched.
+     */
+    private void assertCleanedUp(String failed) throws SQLException {
+        int failure = executed.size() - 1;
+        while (!executed.get(failure).startsWith(failed)) {
+            failure--;
+        }
+        assertEquals(Arrays.asList("DROP TRIGGER IF EXISTS `tb_user_osc_ins`",
+                "DROP TRIGGER IF EXISTS `tb_user_osc_upd`", "DROP TRIGGER IF EXISTS `tb_user_osc_del`",
+                "DROP TABLE IF EXISTS `_tb_user_new`"), executed.subList(failure + 1, executed.size()));
+        assertFalse(tables.containsKey("_tb_user_new"));
+        assertEquals(Arrays.asList("id", "user_name", "phone_number"), tables.get("tb_user"));
+        assertEquals(0, count("RENAME TABLE"));
+        assertEquals(MigrationProgress.State.FAILED, tracker.getMigrations().get(0).getState());
+        verify(connection).setAutoCommit(false);
+    }
+
+    private long count(String prefix) {
+        return executed.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    /**
+     * records the sql and applies CREATE TABLE LIKE, ALTER TABLE and DROP TABLE to the columns of tables.
+     */
+    private void execute(String sql) throws SQLException {
+        executed.add(sql);
+        if (failing != null && sql.startsWith(failing)) {
+            throw new SQLException("failed: " + sql);
+        }
+        String[] words = sql.replace("`", "").split(" ");
+        if (sql.startsWith("CREATE TABLE")) {
+            tables.put(words[2], new ArrayList<>(tables.get(words[4])));
+        } else if (sql.startsWith("ALTER TABLE") && "ADD".equals(words[3])) {
+            tables.get(words[2]).add(words[5]);
+        } else if (sql.startsWith("ALTER TABLE") && "CHANGE".equals(words[3])) {
+            List<String> columns = tables.get(words[2]);
+            columns.set(columns.indexOf(words[5]), words[6]);
+        } else if (sql.startsWith("DROP TABLE IF EXISTS")) {
+            tables.remove(words[4]);
+        }
+    }
+
+    private Statement statement() throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.execute(anyString())).thenAnswer(invocation -> {
+            execute(invocation.getArgument(0));
+            return false;
+        });
+        // MIN and MAX of the primary key, 3 chunks of the default chunk size
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> resultSet(new Object[]{1L, 3000L}));
+        return statement;
+    }
+
+    /**
+     * answers the information_schema queries from tables, and executes the backfill.
+     */
+    private PreparedStatement preparedStatement(String sql) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        String[] table = new String[1];
+        doAnswer(invocation -> table[0] = invocation.getArgument(1)).when(statement).setString(anyInt(), anyString());
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            if (sql.contains("TABLE_ROWS")) {
+                return resultSet(new Object[]{2_000_000L});
+            }
+            if (sql.contains("COLUMN_KEY = 'PRI'")) {
+                return resultSet(new Object[]{"id", "bigint"});
+            }
+            List<Object[]> columns = new ArrayList<>();
+            tables.getOrDefault(table[0], Collections.emptyList()).forEach(column -> columns.add(new Object[]{column}));
+            return resultSet(columns.toArray(new Object[0][]));
+        });
+        when(statement.executeUpdate()).thenAnswer(invocation -> {
+            execute(sql);
+            return 1000;
+        });
+        return statement;
+    }
+
+    private static ResultSet resultSet(Object[]... rows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] row = {-1};
+        when(resultSet.next()).thenAnswer(invocation -> ++row[0] < rows.length);
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> rows[row[0]][(int) invocation.getArgument(0) - 1]);
+        when(resultSet.getLong(anyInt())).thenAnswer(invocation -> rows[row[0]][(int) invocation.getArgument(0) - 1]);
+        return resultSet;
+    }
+
+}